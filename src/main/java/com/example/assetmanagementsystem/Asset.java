@@ -51,6 +51,15 @@ abstract class Asset {
      */
     public abstract String displayInfo();
 
+    /**
+     * Returns a copy of this asset with a different active status. Assets are replaced rather than
+     * modified in place, so indexes and undo history can keep referring to the old version.
+     *
+     * @param active The new status
+     * @return A copy of the asset with the given status
+     */
+    public abstract Asset withActive(boolean active);
+
     // Getter for asset ID
     public String getAssetID() {
         return assetID;
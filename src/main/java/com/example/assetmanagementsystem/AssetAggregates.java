@@ -0,0 +1,168 @@
+package com.example.assetmanagementsystem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * AssetAggregates maintains materialized group-by counts over the inventory, such as the number
+ * of assets per manufacturer or per purchase year. It listens to an AssetChangeFeed and adjusts
+ * every registered view as changes arrive: an added asset increments its group, a removed one
+ * decrements it, and a modification moves the asset between groups. Each change therefore costs
+ * O(1) per view, and reading a count never scans the assets.
+ *
+ * Views must be registered before the changes they should count are published. Counts can be
+ * read from any thread while changes are being applied.
+ */
+class AssetAggregates implements AssetChangeFeed.Listener {
+
+    /**
+     * A group-by view: the number of assets per group key.
+     */
+    static class View {
+        private final String name;
+        private final Function<Asset, String> groupKey;
+        private final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+
+        View(String name, Function<Asset, String> groupKey) {
+            this.name = name;
+            this.groupKey = groupKey;
+        }
+
+        /**
+         * Returns the view's name, e.g. "Manufacturer".
+         *
+         * @return The view name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of assets in a group.
+         *
+         * @param key The group key.
+         * @return The group's count, or 0 if the group is empty.
+         */
+        public long count(String key) {
+            AtomicLong count = counts.get(key);
+            return count == null ? 0 : count.get();
+        }
+
+        /**
+         * Returns a snapshot of every non-empty group, largest first, then by key.
+         *
+         * @return Group keys mapped to their counts.
+         */
+        public Map<String, Long> counts() {
+            List<Map.Entry<String, Long>> entries = new ArrayList<>();
+            counts.forEach((key, count) -> {
+                long value = count.get();
+                if (value > 0) entries.add(Map.entry(key, value));
+            });
+            entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            Map<String, Long> snapshot = new LinkedHashMap<>();
+            for (Map.Entry<String, Long> entry : entries) snapshot.put(entry.getKey(), entry.getValue());
+            return snapshot;
+        }
+
+        // Moves an asset into or out of its group; assets without a key are not counted
+        private void adjust(Asset asset, int delta) {
+            String key = groupKey.apply(asset);
+            if (key != null) counts.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    // Registered views in registration order
+    private final List<View> views = new CopyOnWriteArrayList<>();
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * Creates aggregates with the standard dashboard views: Manufacturer, Location (hardware only),
+     * Model, Status (Active or Retired) and Purchase Year.
+     *
+     * @return The aggregates, not yet subscribed to a feed.
+     */
+    static AssetAggregates standard() {
+        AssetAggregates aggregates = new AssetAggregates();
+        aggregates.register("Manufacturer", Asset::getManufacturer);
+        aggregates.register("Location", asset -> asset instanceof HardwareAsset ha ? ha.getLocation() : null);
+        aggregates.register("Model", Asset::getModel);
+        aggregates.register("Status", asset -> asset.isActive() ? "Active" : "Retired");
+        aggregates.register("Purchase Year", asset -> {
+            LocalDate date = AssetDates.parse(asset.getPurchaseDate());
+            return date == null ? "Unknown" : String.valueOf(date.getYear());
+        });
+        return aggregates;
+    }
+
+    /**
+     * Registers a group-by view.
+     *
+     * @param name     The view's name.
+     * @param groupKey Returns the group an asset belongs to, or null to leave it out of the view.
+     * @return The new view.
+     */
+    public View register(String name, Function<Asset, String> groupKey) {
+        View view = new View(name, groupKey);
+        views.add(view);
+        return view;
+    }
+
+    /**
+     * Returns a registered view.
+     *
+     * @param name The view's name.
+     * @return The view, or null if none is registered under that name.
+     */
+    public View getView(String name) {
+        for (View view : views) {
+            if (view.getName().equals(name)) return view;
+        }
+        return null;
+    }
+
+    /**
+     * Returns all registered views.
+     *
+     * @return The views, in registration order.
+     */
+    public List<View> getViews() {
+        return Collections.unmodifiableList(views);
+    }
+
+    /**
+     * Returns the number of assets counted.
+     *
+     * @return The total asset count.
+     */
+    public long getTotal() {
+        return total.get();
+    }
+
+    /**
+     * Updates every view for one change.
+     *
+     * @param sequence The change's feed sequence.
+     * @param change   The change.
+     */
+    @Override
+    public void onChange(long sequence, AssetChange change) {
+        for (View view : views) {
+            if (change.before() != null) view.adjust(change.before(), -1);
+            if (change.after() != null) view.adjust(change.after(), 1);
+        }
+        if (change.type() == AssetChange.Type.ADDED) total.incrementAndGet();
+        else if (change.type() == AssetChange.Type.REMOVED) total.decrementAndGet();
+    }
+}
@@ -1,11 +1,28 @@
 package com.example.assetmanagementsystem;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * AssetBST is a Binary Search Tree implementation for managing Asset objects by their assetID.
  * It supports insertion, deletion, search, in-order traversal, and clearing the entire tree.
  * The assetID is assumed to be a numeric string, used to determine the order in the BST.
+ *
+ * Assets can be iterated lazily in ID order, optionally restricted to an ID range, and streamed
+ * through a Spliterator that splits by subtree so parallel streams divide the tree across cores.
+ * Iterators and streams are not fail-fast; do not modify the tree while iterating.
  */
-public class AssetBST {
+public class AssetBST implements Iterable<Asset> {
 
     // Internal class representing a node in the BST
     private static class Node {
@@ -18,6 +35,7 @@ public class AssetBST {
     }
 
     private Node root;  // Root node of the BST
+    private int size;   // Number of assets in the tree
 
     /**
      * Inserts a new Asset into the BST.
@@ -30,7 +48,10 @@ public class AssetBST {
 
     // Helper method for recursive insertion
     private Node insertRec(Node root, Asset asset) {
-        if (root == null) return new Node(asset);
+        if (root == null) {
+            size++;
+            return new Node(asset);
+        }
 
         int cmp = compareAssetIDs(asset.getAssetID(), root.asset.getAssetID());
         if (cmp < 0) {
@@ -82,8 +103,10 @@ public class AssetBST {
             root.right = deleteRec(root.right, assetID);
         } else {
             // Node with only one child or no child
-            if (root.left == null) return root.right;
-            if (root.right == null) return root.left;
+            if (root.left == null || root.right == null) {
+                size--;
+                return root.left == null ? root.right : root.left;
+            }
 
             // Node with two children: get the inorder successor (smallest in the right subtree)
             Node min = findMin(root.right);
@@ -99,11 +122,144 @@ public class AssetBST {
         return node;
     }
 
+    /**
+     * Applies a batch of changes in one pass: the tree is merged in ID order with the net effect
+     * of the batch and rebuilt perfectly balanced. This costs O(n + k log k) regardless of the
+     * tree's current shape, instead of one search per change.
+     *
+     * @param changes The changes to apply; later changes to the same ID take precedence.
+     */
+    public void applyChanges(List<AssetChange> changes) {
+        // Net effect per ID, in ID order: the new version, or null if removed
+        TreeMap<Integer, Asset> updates = new TreeMap<>();
+        for (AssetChange change : changes) {
+            updates.put(Integer.parseInt(change.assetID()), change.after());
+        }
+
+        List<Asset> merged = new ArrayList<>(size + updates.size());
+        Iterator<Asset> existing = iterator();
+        Asset current = existing.hasNext() ? existing.next() : null;
+        for (Map.Entry<Integer, Asset> update : updates.entrySet()) {
+            while (current != null && Integer.parseInt(current.getAssetID()) < update.getKey()) {
+                merged.add(current);
+                current = existing.hasNext() ? existing.next() : null;
+            }
+            if (current != null && Integer.parseInt(current.getAssetID()) == update.getKey()) {
+                current = existing.hasNext() ? existing.next() : null; // Replaced or removed
+            }
+            if (update.getValue() != null) merged.add(update.getValue());
+        }
+        while (current != null) {
+            merged.add(current);
+            current = existing.hasNext() ? existing.next() : null;
+        }
+
+        root = buildBalanced(merged, 0, merged.size() - 1);
+        size = merged.size();
+    }
+
+    /**
+     * Replaces the tree's contents with a perfectly balanced tree, in O(n).
+     *
+     * @param sorted Assets in strictly ascending ID order.
+     */
+    public void build(List<Asset> sorted) {
+        root = buildBalanced(sorted, 0, sorted.size() - 1);
+        size = sorted.size();
+    }
+
+    // Builds a balanced subtree from assets sorted by ID, using the middle element as the root
+    private static Node buildBalanced(List<Asset> sorted, int low, int high) {
+        if (low > high) return null;
+        int middle = (low + high) >>> 1;
+        Node node = new Node(sorted.get(middle));
+        node.left = buildBalanced(sorted, low, middle - 1);
+        node.right = buildBalanced(sorted, middle + 1, high);
+        return node;
+    }
+
+    /**
+     * Returns the asset with the highest ID by following the right spine of the tree.
+     *
+     * @return The last asset in ID order, or null if the tree is empty.
+     */
+    public Asset max() {
+        if (root == null) return null;
+        Node node = root;
+        while (node.right != null) node = node.right;
+        return node.asset;
+    }
+
     /**
      * Clears the entire tree.
      */
     public void clear() {
         root = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of assets in the tree.
+     *
+     * @return The asset count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over all assets in ascending ID order.
+     * Nodes are visited with an explicit stack, so no per-element allocation is needed.
+     *
+     * @return An in-order iterator.
+     */
+    @Override
+    public Iterator<Asset> iterator() {
+        return new RangeCursor(root, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns an iterator over the assets whose IDs fall in an inclusive range, in ascending ID order.
+     * The iterator seeks directly to the first ID at or after from, visiting only the nodes on the way.
+     *
+     * @param fromID The lowest asset ID to include, or null for no lower bound.
+     * @param toID   The highest asset ID to include, or null for no upper bound.
+     * @return An in-order iterator over the range.
+     */
+    public Iterator<Asset> iterator(String fromID, String toID) {
+        return new RangeCursor(root, lowerBound(fromID), upperBound(toID));
+    }
+
+    /**
+     * Returns a sequential stream of all assets in ascending ID order.
+     * Call parallel() on the result to process subtrees on multiple cores.
+     *
+     * @return A stream over the tree.
+     */
+    public Stream<Asset> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a sequential stream of the assets in an inclusive ID range, in ascending ID order.
+     *
+     * @param fromID The lowest asset ID to include, or null for no lower bound.
+     * @param toID   The highest asset ID to include, or null for no upper bound.
+     * @return A stream over the range.
+     */
+    public Stream<Asset> stream(String fromID, String toID) {
+        RangeCursor cursor = new RangeCursor(root, lowerBound(fromID), upperBound(toID));
+        return StreamSupport.stream(new SubtreeSpliterator(cursor, size), false);
+    }
+
+    /**
+     * Returns a Spliterator over all assets in ascending ID order that splits by subtree.
+     *
+     * @return A splittable, ordered Spliterator.
+     */
+    @Override
+    public Spliterator<Asset> spliterator() {
+        return new SubtreeSpliterator(new RangeCursor(root, Long.MIN_VALUE, Long.MAX_VALUE), size);
     }
 
     /**
@@ -127,4 +283,139 @@ public class AssetBST {
     private int compareAssetIDs(String id1, String id2) {
         return Integer.compare(Integer.parseInt(id1), Integer.parseInt(id2));
     }
+
+    // Numeric key of a node
+    private static long key(Node node) {
+        return Integer.parseInt(node.asset.getAssetID());
+    }
+
+    // Converts optional range bounds to numeric keys
+    private static long lowerBound(String fromID) {
+        return fromID == null ? Long.MIN_VALUE : Integer.parseInt(fromID);
+    }
+
+    private static long upperBound(String toID) {
+        return toID == null ? Long.MAX_VALUE : Integer.parseInt(toID);
+    }
+
+    /**
+     * In-order cursor bounded by an inclusive key range. The stack holds nodes still to be
+     * emitted; each is followed by its right subtree, so the stack never exceeds the tree height.
+     */
+    private static class RangeCursor implements Iterator<Asset> {
+        final ArrayDeque<Node> stack;
+        final long to;
+
+        RangeCursor(Node root, long from, long to) {
+            this(new ArrayDeque<>(), to);
+            // Seek: walk down to the first key >= from, stacking only nodes that are in range
+            Node node = root;
+            while (node != null) {
+                if (key(node) < from) {
+                    node = node.right;
+                } else {
+                    stack.push(node);
+                    node = node.left;
+                }
+            }
+        }
+
+        RangeCursor(ArrayDeque<Node> stack, long to) {
+            this.stack = stack;
+            this.to = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() && key(stack.peek()) <= to;
+        }
+
+        @Override
+        public Asset next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Node node = stack.pop();
+            pushLeftSpine(stack, node.right);
+            return node.asset;
+        }
+
+        // Stacks a node and all of its left descendants
+        static void pushLeftSpine(ArrayDeque<Node> stack, Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+    }
+
+    /**
+     * Spliterator over a RangeCursor. A split hands the prefix up to some stacked node to a new
+     * Spliterator (bounded by that node's key) and keeps that node's right subtree plus the
+     * remaining ancestors. Splitting at the deepest stack frame first divides the tree at the root.
+     */
+    private static class SubtreeSpliterator implements Spliterator<Asset> {
+        private RangeCursor cursor;
+        private long estimate;
+
+        SubtreeSpliterator(RangeCursor cursor, long estimate) {
+            this.cursor = cursor;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Asset> action) {
+            if (!cursor.hasNext()) return false;
+            action.accept(cursor.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Asset> action) {
+            while (cursor.hasNext()) action.accept(cursor.next());
+        }
+
+        @Override
+        public Spliterator<Asset> trySplit() {
+            // Find the split point: the bottom-most frame with an in-range right subtree
+            Node split = null;
+            Iterator<Node> fromBottom = cursor.stack.descendingIterator();
+            while (fromBottom.hasNext()) {
+                Node node = fromBottom.next();
+                if (node.right != null && key(node) < cursor.to) {
+                    split = node;
+                    break;
+                }
+            }
+            if (split == null || estimate < 2) return null;
+
+            // Frames from the top down to the split node form the prefix
+            ArrayDeque<Node> prefix = new ArrayDeque<>();
+            Node node;
+            do {
+                node = cursor.stack.pop();
+                prefix.addLast(node);
+            } while (node != split);
+
+            // This Spliterator continues with the split node's right subtree, then the ancestors below it
+            RangeCursor.pushLeftSpine(cursor.stack, split.right);
+
+            long half = estimate / 2;
+            estimate -= half;
+            return new SubtreeSpliterator(new RangeCursor(prefix, key(split)), half);
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | NONNULL;
+        }
+
+        @Override
+        public Comparator<? super Asset> getComparator() {
+            return Comparator.comparingInt(asset -> Integer.parseInt(asset.getAssetID()));
+        }
+    }
 }
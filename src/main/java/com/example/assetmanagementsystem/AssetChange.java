@@ -0,0 +1,155 @@
+package com.example.assetmanagementsystem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * AssetChange describes one change to the inventory: an asset was added, removed, or modified.
+ * Added changes carry only the new asset, removed changes only the old one, and modified
+ * changes carry both versions of an asset with the same ID.
+ *
+ * @param type   The kind of change.
+ * @param before The asset before the change, or null if it was added.
+ * @param after  The asset after the change, or null if it was removed.
+ */
+record AssetChange(Type type, Asset before, Asset after) {
+
+    /**
+     * The kinds of change an asset can undergo.
+     */
+    enum Type {
+        ADDED, REMOVED, MODIFIED
+    }
+
+    /**
+     * Creates a change recording a new asset.
+     *
+     * @param asset The added asset.
+     * @return An ADDED change.
+     */
+    static AssetChange added(Asset asset) {
+        return new AssetChange(Type.ADDED, null, asset);
+    }
+
+    /**
+     * Creates a change recording a deleted asset.
+     *
+     * @param asset The removed asset.
+     * @return A REMOVED change.
+     */
+    static AssetChange removed(Asset asset) {
+        return new AssetChange(Type.REMOVED, asset, null);
+    }
+
+    /**
+     * Creates a change recording an edited asset.
+     *
+     * @param before The asset before the edit.
+     * @param after  The asset after the edit.
+     * @return A MODIFIED change.
+     */
+    static AssetChange modified(Asset before, Asset after) {
+        return new AssetChange(Type.MODIFIED, before, after);
+    }
+
+    /**
+     * Computes the changes that would update each of the given assets, without applying them.
+     * Assets the update leaves unchanged (same record) are skipped.
+     *
+     * @param targets The assets to update.
+     * @param update  Returns the new version of an asset, with the same ID.
+     * @return One MODIFIED change per asset that actually changes.
+     */
+    static List<AssetChange> modifyEach(Collection<Asset> targets, UnaryOperator<Asset> update) {
+        List<AssetChange> changes = new ArrayList<>(targets.size());
+        for (Asset before : targets) {
+            Asset after = update.apply(before);
+            if (!after.getAssetID().equals(before.getAssetID())) {
+                throw new IllegalArgumentException("An update must keep the asset ID: " + before.getAssetID());
+            }
+            if (!Objects.equals(FileManager.formatAsset(before), FileManager.formatAsset(after))) {
+                changes.add(modified(before, after));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Computes the changes that would delete each of the given assets, without applying them.
+     *
+     * @param targets The assets to delete.
+     * @return One REMOVED change per asset.
+     */
+    static List<AssetChange> removeEach(Collection<Asset> targets) {
+        List<AssetChange> changes = new ArrayList<>(targets.size());
+        for (Asset asset : targets) changes.add(removed(asset));
+        return changes;
+    }
+
+    /**
+     * Returns the change that undoes this one.
+     *
+     * @return REMOVED for ADDED, ADDED for REMOVED, and MODIFIED with the versions swapped.
+     */
+    AssetChange inverse() {
+        return new AssetChange(switch (type) {
+            case ADDED -> Type.REMOVED;
+            case REMOVED -> Type.ADDED;
+            case MODIFIED -> Type.MODIFIED;
+        }, after, before);
+    }
+
+    /**
+     * Returns the changes that undo a batch, in reverse order.
+     *
+     * @param changes The applied changes.
+     * @return The inverse changes.
+     */
+    static List<AssetChange> inverseOf(List<AssetChange> changes) {
+        List<AssetChange> inverse = new ArrayList<>(changes.size());
+        for (int i = changes.size() - 1; i >= 0; i--) inverse.add(changes.get(i).inverse());
+        return inverse;
+    }
+
+    /**
+     * Returns the ID of the asset affected by this change.
+     *
+     * @return The asset ID.
+     */
+    String assetID() {
+        return after != null ? after.getAssetID() : before.getAssetID();
+    }
+
+    /**
+     * Formats the change as a CSV record for change-data-capture exports: the change type
+     * followed by the asset record (the new version, or the old one for removals).
+     *
+     * @return The change record, e.g. "MODIFIED,Hardware,12,...".
+     */
+    String toRecord() {
+        return type + "," + FileManager.formatAsset(after != null ? after : before);
+    }
+
+    /**
+     * Parses a change record written by toRecord. The record holds a single asset version,
+     * so a parsed MODIFIED change has no before asset.
+     *
+     * @param record The change record.
+     * @return The parsed change, or null if the record is malformed.
+     */
+    static AssetChange fromRecord(String record) {
+        int comma = record.indexOf(',');
+        if (comma < 0) return null;
+        Asset asset = FileManager.parseAsset(record.substring(comma + 1));
+        if (asset == null) return null;
+        return switch (record.substring(0, comma)) {
+            case "ADDED" -> added(asset);
+            case "REMOVED" -> removed(asset);
+            case "MODIFIED" -> modified(null, asset);
+            default -> null;
+        };
+    }
+}
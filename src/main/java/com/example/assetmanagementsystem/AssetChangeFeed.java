@@ -0,0 +1,71 @@
+package com.example.assetmanagementsystem;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * AssetChangeFeed publishes the live store's mutations to downstream consumers as an ordered
+ * stream of AssetChange events. Every event is stamped with a sequence number that increases by
+ * one per change, so incremental consumers can detect gaps and resume from a known position.
+ *
+ * Listeners are called synchronously on the publishing thread, in subscription order.
+ */
+class AssetChangeFeed {
+
+    /**
+     * Receives change events from the feed.
+     */
+    interface Listener {
+        /**
+         * Called once for every published change.
+         *
+         * @param sequence The change's position in the feed, starting at 1.
+         * @param change   The change.
+         */
+        void onChange(long sequence, AssetChange change);
+    }
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private long sequence;
+
+    /**
+     * Registers a listener for all future changes.
+     *
+     * @param listener The listener to add.
+     * @return A handle that unsubscribes the listener when run.
+     */
+    public Runnable subscribe(Listener listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Publishes a single change to every listener.
+     *
+     * @param change The change to publish.
+     */
+    public synchronized void publish(AssetChange change) {
+        long next = ++sequence;
+        for (Listener listener : listeners) {
+            listener.onChange(next, change);
+        }
+    }
+
+    /**
+     * Publishes a batch of changes in order.
+     *
+     * @param changes The changes to publish.
+     */
+    public synchronized void publishAll(List<AssetChange> changes) {
+        for (AssetChange change : changes) publish(change);
+    }
+
+    /**
+     * Returns the sequence number of the most recently published change.
+     *
+     * @return The last sequence number, or 0 if nothing has been published.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.assetmanagementsystem;
+
+import java.util.List;
+
+/**
+ * AssetColumns is a read-only, columnar snapshot of the scan-relevant asset attributes.
+ * Each attribute is held in a primitive array indexed by row, so ColumnScanner can evaluate
+ * filters and group-by counts without touching Asset objects or calling virtual getters.
+ *
+ * Manufacturer and location values are dictionary codes; location is -1 for software rows.
+ * Purchase dates are epoch days, or AssetDates.UNKNOWN where the text is not a date.
+ */
+class AssetColumns {
+    final int size;
+    final int[] ids;
+    final byte[] active;
+    final int[] manufacturerCodes;
+    final int[] locationCodes;
+    final int[] purchaseDays;
+
+    // Dictionaries used to translate codes to and from attribute values
+    final AssetDictionary manufacturers;
+    final AssetDictionary locations;
+
+    AssetColumns(int size, int[] ids, byte[] active, int[] manufacturerCodes, int[] locationCodes,
+                 int[] purchaseDays, AssetDictionary manufacturers, AssetDictionary locations) {
+        this.size = size;
+        this.ids = ids;
+        this.active = active;
+        this.manufacturerCodes = manufacturerCodes;
+        this.locationCodes = locationCodes;
+        this.purchaseDays = purchaseDays;
+        this.manufacturers = manufacturers;
+        this.locations = locations;
+    }
+
+    /**
+     * Builds a columnar snapshot of a list of assets. Compact and off-heap stores copy their
+     * columns directly; any other list is encoded row by row.
+     *
+     * @param assets The assets to snapshot.
+     * @return The column snapshot.
+     */
+    static AssetColumns of(List<Asset> assets) {
+        if (assets instanceof CompactAssetStore compact) return compact.columns();
+        if (assets instanceof OffHeapAssetStore offHeap) return offHeap.columns();
+
+        int size = assets.size();
+        int[] ids = new int[size];
+        byte[] active = new byte[size];
+        int[] manufacturerCodes = new int[size];
+        int[] locationCodes = new int[size];
+        int[] purchaseDays = new int[size];
+        AssetDictionary manufacturers = new AssetDictionary();
+        AssetDictionary locations = new AssetDictionary();
+
+        for (int i = 0; i < size; i++) {
+            Asset asset = assets.get(i);
+            ids[i] = Integer.parseInt(asset.getAssetID());
+            active[i] = (byte) (asset.isActive() ? 1 : 0);
+            manufacturerCodes[i] = manufacturers.encode(asset.getManufacturer());
+            locationCodes[i] = asset instanceof HardwareAsset ha ? locations.encode(ha.getLocation()) : -1;
+            purchaseDays[i] = AssetDates.toEpochDay(asset.getPurchaseDate());
+        }
+        return new AssetColumns(size, ids, active, manufacturerCodes, locationCodes, purchaseDays,
+                manufacturers, locations);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.assetmanagementsystem;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * AssetDates converts between the date text stored on assets (month-day-year, e.g. "2-3-2023")
+ * and compact epoch-day integers. Dates are free-form text in the input dialogs, so only text
+ * that converts back to exactly the same string is treated as a date; anything else is
+ * reported as UNKNOWN and must be kept as text by the caller.
+ */
+class AssetDates {
+    // Marker for text that is not a date in the asset file format
+    static final int UNKNOWN = Integer.MIN_VALUE;
+
+    // Date format used in SavedAssets.txt and the input dialogs
+    private static final DateTimeFormatter FORMAT =
+            DateTimeFormatter.ofPattern("M-d-uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    private AssetDates() {
+    }
+
+    /**
+     * Parses asset date text.
+     *
+     * @param text The date text, e.g. "2-3-2023".
+     * @return The parsed date, or null if the text is not a valid date.
+     */
+    static LocalDate parse(String text) {
+        if (text == null || text.isEmpty()) return null;
+        try {
+            return LocalDate.parse(text, FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts asset date text to an epoch day, if it round-trips exactly.
+     *
+     * @param text The date text.
+     * @return The epoch day, or UNKNOWN if the text is not a date or is not in canonical form.
+     */
+    static int toEpochDay(String text) {
+        LocalDate date = parse(text);
+        if (date == null || !FORMAT.format(date).equals(text)) return UNKNOWN;
+        return (int) date.toEpochDay();
+    }
+
+    /**
+     * Formats an epoch day as asset date text.
+     *
+     * @param epochDay The epoch day produced by toEpochDay.
+     * @return The date text, e.g. "2-3-2023".
+     */
+    static String format(int epochDay) {
+        return FORMAT.format(LocalDate.ofEpochDay(epochDay));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.assetmanagementsystem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AssetDictionary maps repeated attribute values (manufacturers, models, locations, dates)
+ * to small integer codes and back. Each distinct value is stored once, so a column of
+ * codes can stand in for a column of duplicated String objects.
+ */
+class AssetDictionary {
+    // Code assigned to each distinct value
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    // Distinct values, indexed by code
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code for a value, assigning the next free code if the value is new.
+     *
+     * @param value The value to encode (null is stored as an empty string).
+     * @return The code for the value.
+     */
+    public int encode(String value) {
+        String key = value == null ? "" : value;
+        Integer code = codes.get(key);
+        if (code == null) {
+            code = values.size();
+            codes.put(key, code);
+            values.add(key);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code for a value without assigning a new one.
+     *
+     * @param value The value to look up.
+     * @return The code for the value, or -1 if it has never been encoded.
+     */
+    public int codeOf(String value) {
+        return codes.getOrDefault(value == null ? "" : value, -1);
+    }
+
+    /**
+     * Returns the value stored under a code.
+     *
+     * @param code The code to decode.
+     * @return The original value.
+     */
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Returns the number of distinct values in the dictionary.
+     *
+     * @return The dictionary size.
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Removes all values from the dictionary.
+     */
+    public void clear() {
+        codes.clear();
+        values.clear();
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.assetmanagementsystem;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * AssetDiff compares two versions of the inventory and reports what changed between them.
+ * Both inputs must be ordered by ascending numeric asset ID (as produced by AssetBST iterators
+ * or BlockCompressedAssetFile). An asset with the same numeric ID as the one before it, e.g. a
+ * duplicate row or "007" after "7", is skipped, so the first of them wins as in
+ * AssetIndex.rebuild. The inputs are then merged in a single pass, holding only one asset
+ * (or, for block-compressed files, one block) from each side in memory at a time. Assets present
+ * only in the newer version are ADDED, those only in the older version are REMOVED, and assets
+ * whose records differ are MODIFIED.
+ *
+ * Asset files saved by the application keep insertion order rather than ID order; diffFiles
+ * maps such files (see LazyAssetList) and visits their rows in ID order instead of streaming.
+ *
+ * Can be run from the command line; see main.
+ */
+class AssetDiff {
+
+    private AssetDiff() {
+    }
+
+    /**
+     * Merges two ID-ordered asset sequences and emits the differences in ID order.
+     *
+     * @param before The older version, in ascending ID order.
+     * @param after  The newer version, in ascending ID order.
+     * @param sink   Receives each change.
+     * @throws IllegalStateException if either input is not in ascending ID order.
+     * @throws NumberFormatException if an asset ID is not a number.
+     */
+    static void diff(Iterator<Asset> before, Iterator<Asset> after, Consumer<AssetChange> sink) {
+        OrderedCursor older = new OrderedCursor(before, "before");
+        OrderedCursor newer = new OrderedCursor(after, "after");
+
+        while (older.current != null || newer.current != null) {
+            int cmp;
+            if (older.current == null) cmp = 1;
+            else if (newer.current == null) cmp = -1;
+            else cmp = Integer.compare(older.id, newer.id);
+
+            if (cmp < 0) {
+                sink.accept(AssetChange.removed(older.current));
+                older.advance();
+            } else if (cmp > 0) {
+                sink.accept(AssetChange.added(newer.current));
+                newer.advance();
+            } else {
+                if (!Objects.equals(FileManager.formatAsset(older.current), FileManager.formatAsset(newer.current))) {
+                    sink.accept(AssetChange.modified(older.current, newer.current));
+                }
+                older.advance();
+                newer.advance();
+            }
+        }
+    }
+
+    /**
+     * Streams the differences between two asset files. Each file may be a plain asset file, in any
+     * order, or a block-compressed one (see BlockCompressedAssetFile). Records are parsed one at a
+     * time; plain files additionally cost one row offset and one sort key per row.
+     *
+     * @param beforeFile The older asset file.
+     * @param afterFile  The newer asset file.
+     * @param sink       Receives each change.
+     * @throws IOException if either file cannot be read.
+     */
+    static void diffFiles(String beforeFile, String afterFile, Consumer<AssetChange> sink) throws IOException {
+        try (SortedInput older = SortedInput.open(beforeFile);
+             SortedInput newer = SortedInput.open(afterFile)) {
+            diff(older.assets(), newer.assets(), sink);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes a change-data-capture export of the differences between two asset files,
+     * one AssetChange record per line.
+     *
+     * @param beforeFile The older asset file.
+     * @param afterFile  The newer asset file.
+     * @param outputFile The file to write the change records to.
+     * @return The number of changes written.
+     * @throws IOException if a file cannot be read or written.
+     */
+    static long exportChanges(String beforeFile, String afterFile, String outputFile) throws IOException {
+        long[] count = {0};
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputFile))) {
+            diffFiles(beforeFile, afterFile, change -> {
+                try {
+                    writer.write(change.toRecord());
+                    writer.newLine();
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    /**
+     * Compares two in-memory snapshots in any order. Each snapshot is copied and stably sorted by
+     * ID first, so of any assets sharing an ID the one earliest in the list wins.
+     *
+     * @param before The older snapshot.
+     * @param after  The newer snapshot.
+     * @return The changes, in ID order.
+     * @throws NumberFormatException if an asset ID is not a number.
+     */
+    static List<AssetChange> diffSnapshots(List<Asset> before, List<Asset> after) {
+        Comparator<Asset> byID = Comparator.comparingInt(asset -> Integer.parseInt(asset.getAssetID()));
+        List<Asset> older = new ArrayList<>(before);
+        List<Asset> newer = new ArrayList<>(after);
+        older.sort(byID);
+        newer.sort(byID);
+
+        List<AssetChange> changes = new ArrayList<>();
+        diff(older.iterator(), newer.iterator(), changes::add);
+        return changes;
+    }
+
+    /**
+     * Prints the changes between two asset files, or exports them to a file.
+     * Usage: AssetDiff before-file after-file [output-file]
+     *
+     * @param args The older file, the newer file and optionally the export file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: AssetDiff before-file after-file [output-file]");
+            return;
+        }
+        if (args.length > 2) {
+            System.out.println(exportChanges(args[0], args[1], args[2]) + " changes written to " + args[2]);
+        } else {
+            diffFiles(args[0], args[1], change -> System.out.println(change.toRecord()));
+        }
+    }
+
+    // An asset file opened for reading in ascending ID order, with the resource to close afterwards
+    private record SortedInput(Iterator<Asset> assets, Closeable resource) implements Closeable {
+        static SortedInput open(String filename) throws IOException {
+            if (BlockCompressedAssetFile.isBlockCompressed(filename)) {
+                BlockCompressedAssetFile file = BlockCompressedAssetFile.open(filename);
+                return new SortedInput(file.iterator(), file::close);
+            }
+            LazyAssetList rows = LazyAssetList.open(filename);
+            try {
+                return new SortedInput(new RowIterator(rows, idOrder(rows)), rows::close);
+            } catch (RuntimeException e) {
+                rows.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            resource.close();
+        }
+    }
+
+    // Wraps an input iterator, tracking its current asset and checking ascending ID order
+    private static class OrderedCursor {
+        private final Iterator<Asset> source;
+        private final String name;
+        Asset current;
+        int id;
+
+        OrderedCursor(Iterator<Asset> source, String name) {
+            this.source = source;
+            this.name = name;
+            advance();
+        }
+
+        void advance() {
+            while (source.hasNext()) {
+                Asset next = source.next();
+                int nextID = Integer.parseInt(next.getAssetID());
+                if (current != null && nextID == id) continue; // A later duplicate; the first one wins
+                if (current != null && nextID < id) {
+                    throw new IllegalStateException("The " + name + " input is not sorted by asset ID at " + next.getAssetID());
+                }
+                current = next;
+                id = nextID;
+                return;
+            }
+            current = null;
+        }
+    }
+
+    // Row numbers of a mapped file in ascending ID order, or null if the rows already are in that order.
+    // Sorts (ID, row) pairs packed into longs, reading only the ID field of each row
+    private static int[] idOrder(LazyAssetList rows) {
+        int size = rows.size();
+        long[] keys = new long[size];
+        boolean sorted = true;
+        for (int row = 0; row < size; row++) {
+            keys[row] = (long) Integer.parseInt(rows.getAssetID(row)) << 32 | row;
+            if (row > 0 && keys[row] < keys[row - 1]) sorted = false;
+        }
+        if (sorted) return null;
+
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = (int) keys[i];
+        return order;
+    }
+
+    // Parses the rows of a mapped file one at a time in the given order, without caching them
+    private static class RowIterator implements Iterator<Asset> {
+        private final LazyAssetList rows;
+        private final int[] order;
+        private int next;
+
+        RowIterator(LazyAssetList rows, int[] order) {
+            this.rows = rows;
+            this.order = order;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < rows.size();
+        }
+
+        @Override
+        public Asset next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int row = order == null ? next : order[next];
+            next++;
+            return FileManager.parseAsset(rows.getRecord(row));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.assetmanagementsystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * AssetIdAllocator hands out unique numeric asset IDs to any number of threads and processes.
+ *
+ * The highest ID ever reserved (the high-water mark) is persisted in a small sidecar file,
+ * e.g. "SavedAssets.txt.ids". A process reserves IDs in blocks by advancing the mark under an
+ * exclusive file lock, so writers in different processes never receive the same ID. Within a
+ * process, IDs are claimed from the current block with a lock-free counter; the lock and the
+ * file are only touched once per block. Batch imports can lease a whole range in one step.
+ *
+ * IDs that were reserved but never used (e.g. a cancelled dialog) can be released; they are
+ * handed out again, lowest first, before any new ID. On close, the unused tail of the current
+ * block is returned to the file if no other process has leased IDs since.
+ *
+ * Use one allocator per sidecar file in each process.
+ */
+class AssetIdAllocator implements AutoCloseable {
+
+    /**
+     * A range of consecutive IDs.
+     *
+     * @param first The first ID in the range.
+     * @param last  The last ID in the range, inclusive.
+     */
+    record IdRange(long first, long last) {
+        /**
+         * Returns the number of IDs in the range.
+         *
+         * @return The range size.
+         */
+        long size() {
+            return last - first + 1;
+        }
+    }
+
+    // A leased block of IDs; next is claimed without locking and may run past last
+    private static final class Block {
+        final long last;
+        final AtomicLong next;
+
+        Block(long first, long last) {
+            this.last = last;
+            this.next = new AtomicLong(first);
+        }
+    }
+
+    // AssetBST parses IDs as ints
+    private static final long MAX_ID = Integer.MAX_VALUE;
+
+    private final Path highWaterFile;
+    private final int blockSize;
+    private final ConcurrentSkipListSet<Long> released = new ConcurrentSkipListSet<>();
+    private volatile Block current = new Block(1, 0); // Empty until the first lease
+
+    /**
+     * Constructs an allocator. The sidecar file is created on the first lease.
+     *
+     * @param highWaterFile The file holding the highest reserved ID, shared by all processes.
+     * @param blockSize     Number of IDs to reserve at a time.
+     */
+    public AssetIdAllocator(String highWaterFile, int blockSize) {
+        if (blockSize < 1) throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        this.highWaterFile = Path.of(highWaterFile);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the sidecar file that holds the ID high-water mark for an asset file.
+     *
+     * @param assetFile The asset file, e.g. "SavedAssets.txt".
+     * @return The sidecar file name.
+     */
+    static String highWaterFileFor(String assetFile) {
+        return assetFile + ".ids";
+    }
+
+    /**
+     * Allocates an ID, reusing the lowest released ID if there is one. Safe to call from any thread.
+     *
+     * @return A unique asset ID.
+     * @throws IOException if a new block cannot be leased.
+     */
+    public long allocate() throws IOException {
+        Long reused = released.pollFirst();
+        if (reused != null) return reused;
+        while (true) {
+            Block block = current;
+            long id = block.next.getAndIncrement();
+            if (id <= block.last) return id;
+            refill(block);
+        }
+    }
+
+    /**
+     * Reserves a range of consecutive IDs directly from the high-water mark, for batch imports.
+     * IDs from the range that end up unused may be passed to release.
+     *
+     * @param count Number of IDs to reserve.
+     * @return The reserved range.
+     * @throws IOException if the sidecar file cannot be updated.
+     */
+    public synchronized IdRange lease(int count) throws IOException {
+        if (count < 1) throw new IllegalArgumentException("Count must be positive: " + count);
+        long before = updateHighWater(highWater -> {
+            if (highWater + count > MAX_ID) throw new IllegalStateException("Asset IDs exhausted");
+            return highWater + count;
+        });
+        return new IdRange(before + 1, before + count);
+    }
+
+    /**
+     * Returns an allocated ID that was never used, so it can be handed out again.
+     *
+     * @param id The unused ID.
+     */
+    public void release(long id) {
+        released.add(id);
+    }
+
+    /**
+     * Ensures no ID at or below an existing asset's ID is handed out, e.g. after loading a file
+     * that was written without this allocator. Pass the highest existing ID.
+     *
+     * @param existingID The highest asset ID already in use.
+     * @throws IOException if the sidecar file cannot be updated.
+     */
+    public synchronized void observe(long existingID) throws IOException {
+        released.headSet(existingID, true).clear();
+        if (current.next.get() <= existingID) current = new Block(1, 0);
+        updateHighWater(highWater -> Math.max(highWater, existingID));
+    }
+
+    /**
+     * Returns the unused tail of the current block (and released IDs just below it) to the
+     * sidecar file if no other process has leased IDs since. The allocator can still be used
+     * afterwards; it leases a new block on the next allocation.
+     *
+     * @throws IOException if the sidecar file cannot be updated.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        Block block = current;
+        current = new Block(1, 0);
+        long unusedFrom = Math.min(block.next.get(), block.last + 1);
+        while (unusedFrom > 1 && released.remove(unusedFrom - 1)) unusedFrom--;
+        if (unusedFrom > block.last) return;
+
+        long returnedFrom = unusedFrom;
+        updateHighWater(highWater -> highWater == block.last ? returnedFrom - 1 : highWater);
+    }
+
+    // Leases a new block unless another thread already replaced the exhausted one
+    private synchronized void refill(Block exhausted) throws IOException {
+        if (current != exhausted) return;
+        IdRange range = lease(blockSize);
+        current = new Block(range.first(), range.last());
+    }
+
+    // Applies an update to the persisted high-water mark under an exclusive file lock and returns the old value
+    private long updateHighWater(LongUnaryOperator update) throws IOException {
+        try (FileChannel channel = FileChannel.open(highWaterFile,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            FileLock lock = channel.lock();
+            try {
+                return updateLocked(channel, update);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    // Reads, updates and rewrites the high-water mark; the caller holds the file lock
+    private long updateLocked(FileChannel channel, LongUnaryOperator update) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) break;
+        }
+        String text = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII).strip();
+        long highWater;
+        try {
+            highWater = text.isEmpty() ? 0 : Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("Corrupt ID high-water mark in " + highWaterFile + ": " + text, e);
+        }
+
+        long updated = update.applyAsLong(highWater);
+        if (updated != highWater) {
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap((updated + System.lineSeparator()).getBytes(StandardCharsets.US_ASCII)), 0);
+            channel.force(true);
+        }
+        return highWater;
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.assetmanagementsystem;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * AssetIndex combines the lookup structures used to find assets quickly: a binary search tree
+ * keyed by asset ID, and per-attribute maps from lower-cased attribute values to the assets
+ * that carry them. Searches return exact matches first, followed by partial (substring) matches.
+ * Names and models are also held in BK-trees for typo-tolerant (edit distance) search.
+ * Large batches of changes are applied in bulk, touching each attribute bucket only once.
+ */
+class AssetIndex {
+    // Binary search tree for asset lookup by ID
+    private final AssetBST assetBST = new AssetBST();
+
+    // Indexes for fast attribute-based search
+    private final Map<String, Map<String, List<Asset>>> attributeIndexes = new HashMap<>();
+
+    // Edit-distance indexes for the attributes operators most often mistype
+    private static final List<String> FUZZY_ATTRIBUTES = List.of("Name", "Model");
+    private final Map<String, BKTree> fuzzyIndexes = Map.of("Name", new BKTree(), "Model", new BKTree());
+
+    // Batches at least this large are applied in bulk rather than one change at a time
+    static final int BATCH_THRESHOLD = 64;
+
+    /**
+     * Adds an asset to the ID tree and every attribute index.
+     *
+     * @param asset The asset to index.
+     */
+    public void add(Asset asset) {
+        assetBST.insert(asset);
+        addAttributes(asset);
+    }
+
+    /**
+     * Removes an asset from the ID tree and every attribute index.
+     *
+     * @param asset The asset to remove.
+     */
+    public void remove(Asset asset) {
+        assetBST.delete(asset.getAssetID());
+        forEachAttribute(asset, (attribute, value) -> {
+            Map<String, List<Asset>> map = attributeIndexes.get(attribute);
+            if (map == null) return;
+            String key = value.toLowerCase();
+            List<Asset> matches = map.get(key);
+            if (matches != null) {
+                matches.remove(asset);
+                if (matches.isEmpty()) map.remove(key);
+            }
+        });
+        fuzzyIndexes.get("Name").remove(asset.getName(), asset);
+        fuzzyIndexes.get("Model").remove(asset.getModel(), asset);
+    }
+
+    /**
+     * Applies a batch of changes. Small batches are applied one change at a time; larger ones
+     * rebuild the ID tree in one merge pass and update each affected attribute bucket with a
+     * single scan. Where an attribute value is unchanged the new version simply takes the old
+     * one's place, so retiring k assets at one location costs O(k) rather than O(k^2).
+     *
+     * @param changes The changes to apply, in order.
+     */
+    public void applyChanges(List<AssetChange> changes) {
+        Set<String> ids = new HashSet<>();
+        boolean distinct = true;
+        for (AssetChange change : changes) distinct &= ids.add(change.assetID());
+        if (changes.size() < BATCH_THRESHOLD || !distinct) {
+            // Repeated IDs depend on earlier changes in the batch, so apply them in order
+            for (AssetChange change : changes) {
+                if (change.before() != null) remove(change.before());
+                if (change.after() != null) add(change.after());
+            }
+            return;
+        }
+
+        assetBST.applyChanges(changes);
+
+        // Per attribute and value: each outgoing version and its replacement there (null if it leaves)
+        Map<String, Map<String, Map<Asset, Asset>>> replacements = new HashMap<>();
+        List<Map.Entry<String, Asset>> additions = new ArrayList<>();
+        for (AssetChange change : changes) {
+            Asset before = change.before();
+            Asset after = change.after();
+            Map<String, String> afterKeys = after == null ? Map.of() : attributeKeys(after);
+            Map<String, String> beforeKeys = before == null ? Map.of() : attributeKeys(before);
+            beforeKeys.forEach((attribute, key) -> replacements
+                    .computeIfAbsent(attribute, k -> new HashMap<>())
+                    .computeIfAbsent(key, k -> new IdentityHashMap<>())
+                    .put(before, key.equals(afterKeys.get(attribute)) ? after : null));
+            afterKeys.forEach((attribute, key) -> {
+                if (!key.equals(beforeKeys.get(attribute))) additions.add(Map.entry(attribute, after));
+            });
+        }
+
+        replacements.forEach((attribute, byKey) -> {
+            Map<String, List<Asset>> map = attributeIndexes.get(attribute);
+            if (map != null) {
+                byKey.forEach((key, replaced) -> {
+                    List<Asset> matches = map.get(key);
+                    if (matches == null) return;
+                    matches.replaceAll(asset -> replaced.containsKey(asset) ? replaced.get(asset) : asset);
+                    matches.removeIf(Objects::isNull);
+                    if (matches.isEmpty()) map.remove(key);
+                });
+            }
+            BKTree tree = fuzzyIndexes.get(attribute);
+            if (tree != null) byKey.forEach(tree::replaceAll);
+        });
+
+        for (Map.Entry<String, Asset> addition : additions) {
+            String attribute = addition.getKey();
+            Asset asset = addition.getValue();
+            String value = attributeKeys(asset).get(attribute);
+            attributeIndexes.computeIfAbsent(attribute, k -> new HashMap<>())
+                    .computeIfAbsent(value, k -> new ArrayList<>()).add(asset);
+            BKTree tree = fuzzyIndexes.get(attribute);
+            if (tree != null) tree.add(value, asset);
+        }
+    }
+
+    /**
+     * Replaces the index contents with the given assets. The ID tree is built balanced from the
+     * assets sorted by ID instead of by repeated insertion, which degenerates into a list when
+     * the assets arrive in ID order (as they do from a saved file).
+     *
+     * @param assets The assets to index; for duplicate IDs the first asset wins, as with add.
+     */
+    public void rebuild(List<Asset> assets) {
+        clear();
+        List<Asset> sorted = new ArrayList<>(assets);
+        sorted.sort(Comparator.comparingInt(asset -> Integer.parseInt(asset.getAssetID()))); // Stable
+        List<Asset> unique = new ArrayList<>(sorted.size());
+        for (Asset asset : sorted) {
+            if (unique.isEmpty() || !unique.get(unique.size() - 1).getAssetID().equals(asset.getAssetID())) {
+                unique.add(asset);
+            }
+        }
+        assetBST.build(unique);
+        for (Asset asset : assets) addAttributes(asset);
+    }
+
+    /**
+     * Writes the index for AssetIndexFile: the ID order, every attribute bucket and the fuzzy
+     * trees, with assets referred to by row number.
+     *
+     * @param out   The stream to write to.
+     * @param rowOf The row number of every indexed asset.
+     * @throws IOException if the stream cannot be written or an asset has no row.
+     */
+    void writeTo(DataOutputStream out, Map<Asset, Integer> rowOf) throws IOException {
+        List<Asset> inOrder = new ArrayList<>(assetBST.size());
+        assetBST.forEach(inOrder::add);
+        AssetIndexFile.writeRows(out, inOrder, rowOf);
+
+        out.writeInt(attributeIndexes.size());
+        for (Map.Entry<String, Map<String, List<Asset>>> attribute : attributeIndexes.entrySet()) {
+            AssetIndexFile.writeString(out, attribute.getKey());
+            out.writeInt(attribute.getValue().size());
+            for (Map.Entry<String, List<Asset>> bucket : attribute.getValue().entrySet()) {
+                AssetIndexFile.writeString(out, bucket.getKey());
+                AssetIndexFile.writeRows(out, bucket.getValue(), rowOf);
+            }
+        }
+
+        for (String attribute : FUZZY_ATTRIBUTES) fuzzyIndexes.get(attribute).writeTo(out, rowOf);
+    }
+
+    /**
+     * Replaces the index contents with an index written by writeTo.
+     *
+     * @param in   The buffer positioned at the index.
+     * @param rows The assets by row number.
+     */
+    void readFrom(ByteBuffer in, List<Asset> rows) {
+        clear();
+        assetBST.build(AssetIndexFile.readRows(in, rows));
+
+        int attributes = in.getInt();
+        for (int i = 0; i < attributes; i++) {
+            String attribute = AssetIndexFile.readString(in);
+            int buckets = in.getInt();
+            Map<String, List<Asset>> map = new HashMap<>(buckets * 4 / 3 + 1);
+            for (int j = 0; j < buckets; j++) {
+                String key = AssetIndexFile.readString(in);
+                map.put(key, AssetIndexFile.readRows(in, rows));
+            }
+            attributeIndexes.put(attribute, map);
+        }
+
+        for (String attribute : FUZZY_ATTRIBUTES) fuzzyIndexes.get(attribute).readFrom(in, rows);
+    }
+
+    /**
+     * Removes every asset from the index.
+     */
+    public void clear() {
+        assetBST.clear();
+        attributeIndexes.clear();
+        fuzzyIndexes.values().forEach(BKTree::clear);
+    }
+
+    /**
+     * Finds an asset by ID using the binary search tree.
+     *
+     * @param assetID The asset ID to look up.
+     * @return The matching asset, or null if not found.
+     */
+    public Asset findByID(String assetID) {
+        return assetBST.search(assetID);
+    }
+
+    /**
+     * Searches an attribute for assets whose value equals or contains the query (case-insensitive).
+     * "Asset ID" queries are answered from the binary search tree.
+     *
+     * @param attribute The attribute name, e.g. "Manufacturer".
+     * @param query     The search term.
+     * @return Exact matches followed by partial matches.
+     */
+    public List<Asset> search(String attribute, String query) {
+        String term = query.toLowerCase();
+        List<Asset> results = new ArrayList<>();
+        if (attribute.equals("Asset ID")) {
+            Asset match = assetBST.search(term);
+            if (match != null) {
+                results.add(match);
+            }
+            return results;
+        }
+
+        Map<String, List<Asset>> map = attributeIndexes.getOrDefault(attribute, Map.of());
+        results.addAll(map.getOrDefault(term, List.of()));
+        map.forEach((value, assets) -> {
+            if (value.contains(term) && !value.equals(term)) results.addAll(assets);
+        });
+        return results;
+    }
+
+    /**
+     * Returns the assets whose attribute equals the value (case-insensitive), without partial matches.
+     *
+     * @param attribute The attribute name, e.g. "Location".
+     * @param value     The value to match.
+     * @return The matching assets.
+     */
+    public List<Asset> searchExact(String attribute, String value) {
+        if (attribute.equals("Asset ID")) {
+            Asset match = assetBST.search(value);
+            return match == null ? new ArrayList<>() : new ArrayList<>(List.of(match));
+        }
+        return new ArrayList<>(attributeIndexes.getOrDefault(attribute, Map.of()).getOrDefault(value.toLowerCase(), List.of()));
+    }
+
+    /**
+     * Searches an attribute for values within an edit distance of the query (case-insensitive),
+     * tolerating typos such as "Lpatop" for "Laptop". Closer values are ranked first.
+     *
+     * @param attribute   "Name" or "Model"; see fuzzyAttributes.
+     * @param query       The search term.
+     * @param maxDistance The maximum number of single-character edits allowed.
+     * @return Matching assets ordered by edit distance, then by value.
+     */
+    public List<Asset> fuzzySearch(String attribute, String query, int maxDistance) {
+        BKTree tree = fuzzyIndexes.get(attribute);
+        if (tree == null) throw new IllegalArgumentException("Fuzzy search is not supported for: " + attribute);
+
+        List<Asset> results = new ArrayList<>();
+        for (BKTree.Match match : tree.search(query, maxDistance)) {
+            results.addAll(match.assets());
+        }
+        return results;
+    }
+
+    /**
+     * Finds indexed assets that are probably the same item as a candidate, e.g. during an import:
+     * same type, manufacturer and model (ignoring case), and a name within the given edit distance.
+     *
+     * @param candidate   The asset being checked.
+     * @param maxDistance The maximum number of edits between the names.
+     * @return Likely duplicates, closest names first; the candidate itself is excluded.
+     */
+    public List<Asset> findLikelyDuplicates(Asset candidate, int maxDistance) {
+        List<Asset> duplicates = new ArrayList<>();
+        for (BKTree.Match match : fuzzyIndexes.get("Name").search(candidate.getName(), maxDistance)) {
+            for (Asset asset : match.assets()) {
+                if (asset != candidate && asset.getClass() == candidate.getClass()
+                        && asset.getManufacturer().equalsIgnoreCase(candidate.getManufacturer())
+                        && asset.getModel().equalsIgnoreCase(candidate.getModel())) {
+                    duplicates.add(asset);
+                }
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Returns the attributes that support fuzzy search.
+     *
+     * @return The fuzzy-searchable attribute names.
+     */
+    public Set<String> fuzzyAttributes() {
+        return fuzzyIndexes.keySet();
+    }
+
+    /**
+     * Returns the names of the attributes that currently have index entries.
+     *
+     * @return The indexed attribute names.
+     */
+    public Set<String> attributes() {
+        return attributeIndexes.keySet();
+    }
+
+    /**
+     * Returns the binary search tree holding the indexed assets in ID order.
+     *
+     * @return The ID tree.
+     */
+    public AssetBST getAssetBST() {
+        return assetBST;
+    }
+
+    // Returns an asset's lower-cased attribute values keyed by attribute name
+    private static Map<String, String> attributeKeys(Asset asset) {
+        Map<String, String> keys = new HashMap<>();
+        forEachAttribute(asset, (attribute, value) -> keys.put(attribute, value.toLowerCase()));
+        return keys;
+    }
+
+    // Adds an asset to the attribute and fuzzy indexes
+    private void addAttributes(Asset asset) {
+        forEachAttribute(asset, (attribute, value) ->
+                attributeIndexes.computeIfAbsent(attribute, k -> new HashMap<>())
+                        .computeIfAbsent(value.toLowerCase(), k -> new ArrayList<>()).add(asset));
+        fuzzyIndexes.get("Name").add(asset.getName(), asset);
+        fuzzyIndexes.get("Model").add(asset.getModel(), asset);
+    }
+
+    // Calls the visitor with every searchable attribute name and value of an asset
+    private static void forEachAttribute(Asset asset, AttributeVisitor visitor) {
+        visitor.visit("Name", asset.getName());
+        visitor.visit("Asset ID", asset.getAssetID());
+        visitor.visit("Manufacturer", asset.getManufacturer());
+        visitor.visit("Model", asset.getModel());
+        visitor.visit("Purchase Date", asset.getPurchaseDate());
+        if (asset instanceof HardwareAsset ha) {
+            visitor.visit("Location", ha.getLocation());
+            visitor.visit("Maintenance Date", ha.getMaintenanceDate());
+        } else if (asset instanceof SoftwareAsset sa) {
+            visitor.visit("Version", sa.getVersion());
+            visitor.visit("License Key", sa.getLicenseKey());
+        }
+    }
+
+    // Receives one attribute name/value pair
+    private interface AttributeVisitor {
+        void visit(String attribute, String value);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.assetmanagementsystem;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * AssetIndexFile persists a built AssetIndex in a sidecar file next to the asset file
+ * (e.g. "SavedAssets.txt.idx"), so startup can restore the ID tree, attribute buckets and
+ * fuzzy-search trees instead of rebuilding them. Assets are referred to by their row number
+ * in the asset file, and the sidecar records the CRC32 of the exact asset file contents it
+ * was built for. The caller computes the same checksum while loading the asset file (see
+ * FileManager.loadAssetsFromFile), so validating costs no extra read; any change to the file
+ * makes the sidecar stale and the index is rebuilt.
+ *
+ * The sidecar is memory-mapped when read and unmapped as soon as the index is restored, so it can
+ * be replaced on the next save on any platform. Layout: magic, format version, row count, data
+ * checksum, then the index as written by AssetIndex.writeTo. Strings are stored as a length
+ * and UTF-8 bytes; row lists as a count and row numbers.
+ */
+class AssetIndexFile {
+    private static final int MAGIC = 0x414D5349; // "AMSI"
+    private static final int VERSION = 1;
+
+    private AssetIndexFile() {
+    }
+
+    /**
+     * Returns the sidecar index file for an asset file.
+     *
+     * @param dataFile The asset file, e.g. "SavedAssets.txt".
+     * @return The sidecar file name.
+     */
+    static String indexFileFor(String dataFile) {
+        return dataFile + ".idx";
+    }
+
+    /**
+     * Computes the CRC32 that FileManager's save methods produce for a list of assets, i.e. the
+     * checksum of the asset file holding exactly these assets in this order.
+     *
+     * @param assets The assets.
+     * @return The checksum of their file contents.
+     */
+    static long checksumOf(List<Asset> assets) {
+        CRC32 crc = new CRC32();
+        byte[] newline = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+        for (Asset asset : assets) {
+            String record = FileManager.formatAsset(asset);
+            if (record != null) crc.update(record.getBytes(StandardCharsets.UTF_8));
+            crc.update(newline);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Writes the sidecar for an index built over the given assets. The assets must be in the order
+     * they were (or will be) saved in, so that row numbers match the asset file.
+     *
+     * @param index     The index to persist.
+     * @param assets    The indexed assets, in file order.
+     * @param indexFile The sidecar file to write.
+     * @throws IOException if the file cannot be written or the index holds assets not in the list.
+     */
+    static void write(AssetIndex index, List<Asset> assets, String indexFile) throws IOException {
+        // Row numbers as the loader will assign them: records that cannot be formatted are skipped
+        Map<Asset, Integer> rowOf = new IdentityHashMap<>(assets.size() * 4 / 3 + 1);
+        for (Asset asset : assets) {
+            if (FileManager.formatAsset(asset) != null) rowOf.put(asset, rowOf.size());
+        }
+
+        Path target = Path.of(indexFile).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rowOf.size());
+            out.writeLong(checksumOf(assets));
+            index.writeTo(out, rowOf);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Restores an index from its sidecar if the sidecar was built for exactly these assets.
+     *
+     * @param indexFile    The sidecar file.
+     * @param rows         The assets as loaded from the asset file, in file order.
+     * @param dataChecksum The CRC32 of the asset file, computed while loading it.
+     * @param target       The index to fill; it is left empty if the sidecar cannot be used.
+     * @return True if the index was restored, false if the sidecar is missing, unreadable, stale or corrupt.
+     */
+    static boolean load(String indexFile, List<Asset> rows, long dataChecksum, AssetIndex target) {
+        Path path = Path.of(indexFile);
+        if (!Files.exists(path)) return false;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Arena arena = Arena.ofConfined()) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena).asByteBuffer();
+            if (in.remaining() < 3 * Integer.BYTES + Long.BYTES
+                    || in.getInt() != MAGIC || in.getInt() != VERSION
+                    || in.getInt() != rows.size() || in.getLong() != dataChecksum) {
+                return false;
+            }
+            target.readFrom(in, rows);
+            return true;
+        } catch (IOException e) {
+            return false;
+        } catch (RuntimeException e) {
+            // Truncated or corrupt sidecar (buffer underflow, row out of range, ...)
+            target.clear();
+            return false;
+        }
+    }
+
+    // Writes a string as its UTF-8 length and bytes
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Writes a list of assets as their row numbers
+    static void writeRows(DataOutputStream out, Collection<Asset> assets, Map<Asset, Integer> rowOf) throws IOException {
+        out.writeInt(assets.size());
+        for (Asset asset : assets) {
+            Integer row = rowOf.get(asset);
+            if (row == null) throw new IOException("Indexed asset " + asset.getAssetID() + " is not in the asset list");
+            out.writeInt(row);
+        }
+    }
+
+    static List<Asset> readRows(ByteBuffer in, List<Asset> rows) {
+        int count = in.getInt();
+        List<Asset> assets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) assets.add(rows.get(in.getInt()));
+        return assets;
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.assetmanagementsystem;
 
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
@@ -12,6 +15,8 @@ import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -21,28 +26,49 @@ import java.util.stream.Collectors;
  *
  * A JavaFX-based graphical user interface (GUI) application for managing hardware and software assets.
  * This system allows users to:
- * - Add, edit, and delete assets (both hardware and software)
+ * - Add, edit, and delete assets (both hardware and software), with a warning when a new asset
+ *   looks like an existing one
+ * - Retire, reactivate, move or delete every asset matching an attribute value, status and purchase
+ *   date range in one bulk update
+ * - Show a live dashboard of asset counts per manufacturer, location, model, status and purchase year
+ * - Alert when hardware reaches its maintenance date and list the upcoming maintenance
  * - Display asset details in a dynamic, sortable table
- * - Load and save assets from/to a file
+ * - Load and save assets from/to a file, with background autosave after edits
+ * - Restore the search index from a sidecar file at startup instead of rebuilding it
  * - Toggle visibility of asset table columns
- * - Manage assets in memory using both a list (AssetManager) and a binary search tree (AssetBST)
+ * - Manage assets in memory using both a list (AssetManager) and an index (AssetIndex)
+ * - Publish every change to the assets on the AssetManager's change feed
+ * - Ship the change feed to read-only replica processes through a journal file
  *
- * Asset IDs are auto-generated to ensure uniqueness.
+ * Asset IDs are reserved from an AssetIdAllocator to ensure uniqueness, even across processes.
  * Different input forms are shown for hardware and software asset types.
  * Each asset is stored and displayed with both common and type-specific attributes.
  *
  * Dependencies:
+ * - AssetSession: for applying edits to the assets and index, with undo and redo
  * - AssetManager: for managing the collection of assets
- * - AssetBST: for managing assets in a binary search tree based on asset ID
+ * - AssetIndex: for ID lookup through a binary search tree (AssetBST) and attribute-based search
  * - FileManager: for saving and loading assets from persistent storage
+ * - AutosaveScheduler: for writing snapshots of the assets on a background thread
+ * - AssetIndexFile: for persisting the built AssetIndex between runs
+ * - AssetIdAllocator: for reserving unique asset IDs
+ * - AssetAggregates: for the dashboard counts, maintained from the change feed
+ * - MaintenanceScheduler: for the maintenance due dates, maintained from the change feed
+ * - ReplicationJournal: for streaming changes to AssetReplica processes
  * - HardwareAsset and SoftwareAsset: subclasses of the abstract Asset class
  *
  */
 
 public class AssetManagementSystem extends Application {
 
+    // Names this many edits apart count as the same item when checking a new asset for duplicates
+    private static final int DUPLICATE_NAME_DISTANCE = 2;
+
+    // Asset list that autosave can snapshot without copying every asset
+    private final SnapshotAssetList assetList = new SnapshotAssetList();
+
     // Core asset manager handling storage and sorting
-    private final AssetManager assetManager = new AssetManager();
+    private final AssetManager assetManager = new AssetManager(assetList);
 
     // JavaFX table for displaying assets
     private final TableView<Asset> assetTable = new TableView<>();
@@ -50,23 +76,60 @@ public class AssetManagementSystem extends Application {
     // Maps column names to their corresponding TableColumn objects
     private final Map<String, TableColumn<Asset, String>> columnMap = new TreeMap<>();
 
-    // Undo/redo history stacks
-    private final Deque<List<Asset>> undoStack = new ArrayDeque<>();
-    private final Deque<List<Asset>> redoStack = new ArrayDeque<>();
+    // ID tree and attribute indexes for fast lookup and search
+    private final AssetIndex assetIndex = new AssetIndex();
+
+    // Applies edits to the assets and index, with undo/redo history
+    private final AssetSession session = new AssetSession(assetManager, assetIndex, this::changesApplied);
+
+    // Background saver, started in start()
+    private AutosaveScheduler autosave;
+
+    // Journal of changes since the last save, read by replicas; started after the initial load
+    private volatile ReplicationJournal journal;
+
+    // Dashboard counts, kept up to date from the change feed
+    private final AssetAggregates aggregates = AssetAggregates.standard();
 
-    // Binary search tree for asset lookup by ID
-    private final AssetBST assetBST = new AssetBST();
+    // Open dashboard window, if any
+    private Stage dashboardStage;
 
-    // Indexes for fast attribute-based search
-    private final Map<String, Map<String, List<Asset>>> attributeIndexes = new HashMap<>();
+    // Hardware maintenance dates, kept up to date from the change feed; checked hourly after the initial load
+    private final MaintenanceScheduler maintenance = new MaintenanceScheduler(
+            due -> Platform.runLater(() -> showMaintenanceDue(due)));
 
-    // Counter for generating unique asset IDs
-    private int nextAssetID = 1;
+    // Scan engine for the bulk update filters, over a column snapshot re-encoded after the assets change
+    private final ColumnScanner scanner = ColumnScanner.create();
+    private AssetColumns columns;
+    private long columnsSequence;
+
+    // Status line showing the outcome of the latest save
+    private final Label statusLabel = new Label();
+
+    // Source of unique asset IDs, persisted next to the asset file
+    private final AssetIdAllocator idAllocator =
+            new AssetIdAllocator(AssetIdAllocator.highWaterFileFor("SavedAssets.txt"), 16);
 
     @Override
     public void start(Stage primaryStage) {
         primaryStage.setTitle("Asset Management System");
 
+        // Save edits in the background a short while after the last change
+        autosave = new AutosaveScheduler(
+                assetList::snapshot, assetManager.getChangeFeed()::getSequence,
+                Platform::runLater, "SavedAssets.txt", Duration.ofSeconds(2),
+                stats -> {
+                    checkpointJournal(stats.version());
+                    Platform.runLater(() -> statusLabel.setText(String.format(
+                            "Saved %d assets in %d ms (%d ms after the first unsaved change)",
+                            stats.assetCount(), stats.durationMillis(), stats.lagMillis())));
+                },
+                error -> Platform.runLater(() -> showError("Error saving assets to file.")));
+
+        // Count every change from the first load on
+        assetManager.getChangeFeed().subscribe(aggregates);
+        assetManager.getChangeFeed().subscribe(maintenance);
+
         // Dropdown menu for toggling column visibility
         MenuButton columnSelector = new MenuButton("Select Columns");
 
@@ -84,39 +147,27 @@ public class AssetManagementSystem extends Application {
         Button loadAssetsButton = new Button("Load Assets");
         loadAssetsButton.setOnAction(e -> {
             try {
-                saveStateForUndo();
-                List<Asset> loadedAssets = FileManager.loadAssetsFromFile("SavedAssets.txt");
-                assetManager.getAssets().clear();
-                assetBST.clear();
-                clearIndexes();
-                assetManager.getAssets().addAll(loadedAssets);
-                for (Asset asset : loadedAssets) {
-                    assetBST.insert(asset);
-                    indexAsset(asset);
-                }
+                // Not an undoable edit: the file already holds these assets
+                session.load("SavedAssets.txt");
                 assetTable.setItems(FXCollections.observableArrayList(assetManager.getAssets()));
+                assetTable.sort();
+                columns = null;
                 updateNextAssetID();
             } catch (IOException ex) {
                 showError("Error loading assets from file.");
             }
         });
 
-        // Save current assets to file
+        // Save current assets to file without blocking the UI
         Button saveAssetsButton = new Button("Save Assets");
-        saveAssetsButton.setOnAction(e -> {
-            try {
-                FileManager.saveAssetsToFile(assetManager.getAssets(), "SavedAssets.txt");
-            } catch (IOException ex) {
-                showError("Error saving assets to file.");
-            }
-        });
+        saveAssetsButton.setOnAction(e -> autosave.saveNow());
 
         // Undo/redo buttons
         Button undoButton = new Button("Undo");
-        undoButton.setOnAction(e -> undo());
+        undoButton.setOnAction(e -> session.undo());
 
         Button redoButton = new Button("Redo");
-        redoButton.setOnAction(e -> redo());
+        redoButton.setOnAction(e -> session.redo());
 
         // Button to delete currently selected asset
         Button deleteButton = new Button("Delete Selected Asset");
@@ -126,13 +177,26 @@ public class AssetManagementSystem extends Application {
         Button searchButton = new Button("Search By Attribute");
         searchButton.setOnAction(e -> showSearchDialog());
 
+        // Button to change or delete every asset matching an attribute value at once
+        Button bulkUpdateButton = new Button("Bulk Update");
+        bulkUpdateButton.setOnAction(e -> showBulkUpdateDialog());
+
+        // Button to open the live asset counts
+        Button dashboardButton = new Button("Dashboard");
+        dashboardButton.setOnAction(e -> showDashboard());
+
+        // Upcoming and overdue hardware maintenance
+        Button maintenanceButton = new Button("Maintenance");
+        maintenanceButton.setOnAction(e -> showUpcomingMaintenance());
+
         // Top toolbar with all controls
         HBox topBar = new HBox(10, addHardwareButton, addSoftwareButton, loadAssetsButton, saveAssetsButton,
-                columnSelector, undoButton, redoButton, deleteButton, searchButton);
+                columnSelector, undoButton, redoButton, deleteButton, searchButton, bulkUpdateButton, dashboardButton,
+                maintenanceButton);
         topBar.setPadding(new Insets(10));
 
         // Layout configuration
-        VBox root = new VBox(10, topBar, assetTable);
+        VBox root = new VBox(10, topBar, assetTable, statusLabel);
         root.setPadding(new Insets(10));
         VBox.setVgrow(assetTable, Priority.ALWAYS);
 
@@ -152,6 +216,19 @@ public class AssetManagementSystem extends Application {
         // Load existing assets on startup
         loadAssetsButton.fire();
 
+        // Replicas catch up from the file just loaded plus the changes journaled from here on
+        try {
+            journal = new ReplicationJournal(ReplicationJournal.journalFileFor("SavedAssets.txt"),
+                    assetManager.getChangeFeed().getSequence(),
+                    error -> Platform.runLater(() -> showError("Error writing the replication journal.")));
+            assetManager.getChangeFeed().subscribe(journal);
+        } catch (IOException ex) {
+            showError("Error creating the replication journal.");
+        }
+
+        // Report maintenance that is already due, then check again every hour
+        maintenance.start(Duration.ofHours(1).toMillis());
+
         primaryStage.setScene(new Scene(root, 1000, 600));
         primaryStage.show();
     }
@@ -215,8 +292,18 @@ public class AssetManagementSystem extends Application {
         grid.setVgap(10);
         grid.setPadding(new Insets(20, 150, 10, 10));
 
-        // Use the existing asset ID if editing, otherwise generate the next ID
-        String assetID = existingAsset == null ? String.format("%03d", nextAssetID++) : existingAsset.getAssetID();
+        // Use the existing asset ID if editing, otherwise reserve the next free ID
+        String assetID;
+        if (existingAsset != null) {
+            assetID = existingAsset.getAssetID();
+        } else {
+            try {
+                assetID = String.format("%03d", idAllocator.allocate());
+            } catch (IOException e) {
+                showError("Error reserving an asset ID.");
+                return;
+            }
+        }
 
         // Initialize input fields with existing values if editing, or leave blank if adding
         TextField nameField = new TextField(existingAsset != null ? existingAsset.getName() : "");
@@ -272,7 +359,6 @@ public class AssetManagementSystem extends Application {
         // Define behavior when user confirms (OK button)
         dialog.setResultConverter(dialogButton -> {
             if (dialogButton == ButtonType.OK) {
-                saveStateForUndo(); // Save current state for undo support
                 if (type.equals("hardware")) {
                     return new HardwareAsset(assetID, nameField.getText(), manufacturerField.getText(), modelField.getText(),
                             purchaseDateField.getText(), activeCheckbox.isSelected(),
@@ -288,45 +374,34 @@ public class AssetManagementSystem extends Application {
 
         // Process the result of the dialog when the user confirms input
         Optional<Asset> result = dialog.showAndWait();
+        if (result.isPresent() && existingAsset == null && !confirmNotDuplicate(result.get())) {
+            result = Optional.empty();
+        }
+        if (result.isEmpty() && existingAsset == null) {
+            idAllocator.release(Long.parseLong(assetID)); // Cancelled: the ID can be handed out again
+        }
+        // Add the new asset, or replace the edited one, in all data structures and the UI
         result.ifPresent(asset -> {
-            // If editing, remove old asset from all places before adding the updated one
-            if (existingAsset != null) {
-                assetManager.getAssets().remove(existingAsset);
-                assetTable.getItems().remove(existingAsset);
-                assetBST.delete(existingAsset.getAssetID());
-            }
-            // Add the new or updated asset to data structures and UI
-            assetManager.addAsset(asset);
-            assetTable.getItems().add(asset);
-            assetBST.insert(asset);
+            List<AssetChange> changes = List.of(
+                    existingAsset == null ? AssetChange.added(asset) : AssetChange.modified(existingAsset, asset));
+            session.perform(changes);
         });
     }
 
-    // Clears the attribute index map used for fast searching
-    private void clearIndexes() {
-        attributeIndexes.clear();
-    }
-
-    // Adds an asset to the attribute index map for quick lookups by various fields
-    private void indexAsset(Asset asset) {
-        indexAttribute("Name", asset.getName(), asset);
-        indexAttribute("Asset ID", asset.getAssetID(), asset);
-        indexAttribute("Manufacturer", asset.getManufacturer(), asset);
-        indexAttribute("Model", asset.getModel(), asset);
-        indexAttribute("Purchase Date", asset.getPurchaseDate(), asset);
-        if (asset instanceof HardwareAsset ha) {
-            indexAttribute("Location", ha.getLocation(), asset);
-            indexAttribute("Maintenance Date", ha.getMaintenanceDate(), asset);
-        } else if (asset instanceof SoftwareAsset sa) {
-            indexAttribute("Version", sa.getVersion(), asset);
-            indexAttribute("License Key", sa.getLicenseKey(), asset);
-        }
-    }
-
-    // Adds a single attribute-value pair to the attribute index map for the given asset
-    private void indexAttribute(String attribute, String value, Asset asset) {
-        attributeIndexes.putIfAbsent(attribute, new HashMap<>());
-        attributeIndexes.get(attribute).computeIfAbsent(value.toLowerCase(), k -> new ArrayList<>()).add(asset);
+    // Asks before adding an asset that looks like one already in the inventory: same type,
+    // manufacturer and model, and a name within a couple of typos. Returns true to add it
+    private boolean confirmNotDuplicate(Asset asset) {
+        List<Asset> duplicates = assetIndex.findLikelyDuplicates(asset, DUPLICATE_NAME_DISTANCE);
+        if (duplicates.isEmpty()) return true;
+        String list = duplicates.stream().limit(10)
+                .map(duplicate -> duplicate.getAssetID() + " " + duplicate.getName())
+                .collect(Collectors.joining("\n"));
+        if (duplicates.size() > 10) list += "\n... and " + (duplicates.size() - 10) + " more";
+
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION, list, ButtonType.OK, ButtonType.CANCEL);
+        confirm.setTitle("Possible Duplicate");
+        confirm.setHeaderText("This looks like an existing asset. Add it anyway?");
+        return confirm.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK;
     }
 
     // Displays a dialog to allow the user to search for assets by a selected attribute
@@ -335,11 +410,16 @@ public class AssetManagementSystem extends Application {
         dialog.setTitle("Search By Attribute");
 
         // Input controls for selecting an attribute and entering a search query
-        ComboBox<String> attributeBox = new ComboBox<>(FXCollections.observableArrayList(attributeIndexes.keySet()));
+        ComboBox<String> attributeBox = new ComboBox<>(FXCollections.observableArrayList(assetIndex.attributes()));
         attributeBox.getSelectionModel().selectFirst();
         TextField queryField = new TextField();
         Button searchButton = new Button("Search");
 
+        // Allowed typos for fuzzy name/model search; 0 keeps exact and partial matching
+        Spinner<Integer> typoSpinner = new Spinner<>(0, 3, 0);
+        typoSpinner.disableProperty().bind(Bindings.createBooleanBinding(
+                () -> !assetIndex.fuzzyAttributes().contains(attributeBox.getValue()), attributeBox.valueProperty()));
+
         TableView<Asset> resultTable = new TableView<>();
         ListView<String> resultList = new ListView<>();
 
@@ -347,6 +427,7 @@ public class AssetManagementSystem extends Application {
         VBox content = new VBox(10,
                 new Label("Select Attribute:"), attributeBox,
                 new Label("Enter search term:"), queryField,
+                new Label("Allowed typos (Name and Model only):"), typoSpinner,
                 searchButton,
                 new Label("Results:"), resultList
         );
@@ -361,32 +442,18 @@ public class AssetManagementSystem extends Application {
         searchButton.setOnAction(e -> {
             String attr = attributeBox.getValue();
             String query = queryField.getText().toLowerCase();
-            List<Asset> results = new ArrayList<>();
+            int typos = typoSpinner.isDisabled() ? 0 : typoSpinner.getValue();
 
             // Background task to avoid freezing the UI
             Task<List<Asset>> searchTask = new Task<>() {
                 @Override
                 protected List<Asset> call() {
-                    if (attr.equals("Asset ID")) {
-                        // Use BST for fast asset ID lookup
-                        Asset match = assetBST.search(query);
-                        if (match != null) {
-                            results.add(match);
-                        }
-                    } else {
-                        // Search indexed attributes for exact and partial matches
-                        Map<String, List<Asset>> map = attributeIndexes.getOrDefault(attr, Map.of());
-
-                        List<Asset> exactMatches = map.getOrDefault(query, new ArrayList<>());
-                        List<Asset> partialMatches = map.entrySet().stream()
-                                .filter(entry -> entry.getKey().contains(query) && !entry.getKey().equals(query))
-                                .flatMap(entry -> entry.getValue().stream())
-                                .collect(Collectors.toList());
-
-                        results.addAll(exactMatches);
-                        results.addAll(partialMatches);
+                    if (typos > 0) {
+                        // Edit-distance search, closest matches first
+                        return assetIndex.fuzzySearch(attr, query, typos);
                     }
-                    return results;
+                    // BST lookup for asset IDs, exact and partial matches for other attributes
+                    return assetIndex.search(attr, query);
                 }
             };
 
@@ -411,12 +478,225 @@ public class AssetManagementSystem extends Application {
         dialog.showAndWait();
     }
 
-    // Updates the nextAssetID counter to one greater than the current highest ID
-    private void updateNextAssetID() {
-        int maxID = assetManager.getAssets().stream()
-                .mapToInt(asset -> Integer.parseInt(asset.getAssetID()))
-                .max().orElse(0);
-        nextAssetID = maxID + 1;
+    // Displays a dialog that applies one change to every asset whose attribute equals a value
+    private void showBulkUpdateDialog() {
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Bulk Update");
+
+        // Selection: exact (case-insensitive) attribute match, answered from the index
+        ComboBox<String> attributeBox = new ComboBox<>(FXCollections.observableArrayList(assetIndex.attributes()));
+        attributeBox.getSelectionModel().select(assetIndex.attributes().contains("Location") ? "Location" : null);
+        TextField valueField = new TextField();
+
+        // Action to apply; moving only applies to hardware
+        ComboBox<String> actionBox = new ComboBox<>(FXCollections.observableArrayList(
+                "Retire", "Reactivate", "Move to location", "Delete"));
+        actionBox.getSelectionModel().selectFirst();
+        TextField locationField = new TextField();
+        locationField.disableProperty().bind(Bindings.createBooleanBinding(
+                () -> !"Move to location".equals(actionBox.getValue()), actionBox.valueProperty()));
+
+        // Optional filters, evaluated as column scans
+        ComboBox<String> statusBox = new ComboBox<>(FXCollections.observableArrayList("Any", "Active", "Retired"));
+        statusBox.getSelectionModel().selectFirst();
+        TextField purchasedFromField = new TextField();
+        purchasedFromField.setPromptText("M-d-yyyy");
+        TextField purchasedToField = new TextField();
+        purchasedToField.setPromptText("M-d-yyyy");
+
+        VBox content = new VBox(10,
+                new Label("Select assets where attribute:"), attributeBox,
+                new Label("Equals (leave blank to select by the filters only):"), valueField,
+                new Label("Status:"), statusBox,
+                new Label("Purchased from:"), purchasedFromField,
+                new Label("Purchased to:"), purchasedToField,
+                new Label("Action:"), actionBox,
+                new Label("New location:"), locationField
+        );
+        content.setPadding(new Insets(10));
+        dialog.getDialogPane().setContent(content);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        Optional<ButtonType> result = dialog.showAndWait();
+        if (result.isEmpty() || result.get() != ButtonType.OK) return;
+
+        long start = System.nanoTime();
+        List<Asset> selected;
+        try {
+            selected = selectForBulkUpdate(attributeBox.getValue(), valueField.getText().strip(), statusBox.getValue(),
+                    purchasedFromField.getText().strip(), purchasedToField.getText().strip());
+        } catch (IllegalArgumentException ex) {
+            showError(ex.getMessage());
+            return;
+        }
+        List<AssetChange> changes = switch (actionBox.getValue()) {
+            case "Retire" -> AssetChange.modifyEach(selected, asset -> asset.withActive(false));
+            case "Reactivate" -> AssetChange.modifyEach(selected, asset -> asset.withActive(true));
+            case "Move to location" -> AssetChange.modifyEach(selected, asset ->
+                    asset instanceof HardwareAsset ha ? ha.withLocation(locationField.getText().strip()) : asset);
+            default -> AssetChange.removeEach(selected);
+        };
+        if (changes.isEmpty()) {
+            statusLabel.setText("Bulk update: no assets changed.");
+            return;
+        }
+        if (changes.get(0).type() == AssetChange.Type.REMOVED) {
+            Alert confirm = new Alert(Alert.AlertType.CONFIRMATION,
+                    "Delete " + changes.size() + " assets?", ButtonType.OK, ButtonType.CANCEL);
+            if (confirm.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) return;
+            start = System.nanoTime();
+        }
+
+        session.perform(changes);
+        statusLabel.setText(String.format("Bulk update: changed %d assets in %d ms",
+                changes.size(), (System.nanoTime() - start) / 1_000_000));
+    }
+
+    // Selects the assets for a bulk update: an exact attribute match answered from the index, narrowed by
+    // status and purchase date filters that are evaluated as scans over the asset columns
+    private List<Asset> selectForBulkUpdate(String attribute, String value, String status, String from, String to) {
+        boolean byAttribute = attribute != null && !value.isEmpty();
+        long[] filter = null;
+        AssetColumns cols = null;
+        if (!status.equals("Any")) {
+            cols = assetColumns();
+            filter = scanner.selectEquals(cols.active, cols.size, (byte) (status.equals("Active") ? 1 : 0));
+        }
+        if (!from.isEmpty() || !to.isEmpty()) {
+            cols = assetColumns();
+            // Dates that are not valid never match; UNKNOWN is below every open lower bound
+            long[] purchased = scanner.selectRange(cols.purchaseDays, cols.size,
+                    parseDay(from, AssetDates.UNKNOWN + 1), parseDay(to, Integer.MAX_VALUE));
+            filter = filter == null ? purchased : scanner.and(filter, purchased);
+        }
+
+        if (filter == null) return byAttribute ? assetIndex.searchExact(attribute, value) : new ArrayList<>();
+        Set<Asset> matches = null;
+        if (byAttribute) {
+            matches = Collections.newSetFromMap(new IdentityHashMap<>());
+            matches.addAll(assetIndex.searchExact(attribute, value));
+        }
+        List<Asset> selected = new ArrayList<>();
+        for (int row : scanner.rows(filter)) {
+            Asset asset = assetManager.getAssets().get(row);
+            if (matches == null || matches.contains(asset)) selected.add(asset);
+        }
+        return selected;
+    }
+
+    // Column snapshot of the asset list, re-encoded only when the assets changed since the last scan
+    private AssetColumns assetColumns() {
+        long sequence = assetManager.getChangeFeed().getSequence();
+        if (columns == null || columnsSequence != sequence) {
+            columns = AssetColumns.of(assetManager.getAssets());
+            columnsSequence = sequence;
+        }
+        return columns;
+    }
+
+    // Parses a filter date as an epoch day, or returns the default if the field is blank
+    private static int parseDay(String text, int blank) {
+        if (text.isEmpty()) return blank;
+        LocalDate date = AssetDates.parse(text);
+        if (date == null) throw new IllegalArgumentException("Invalid date: " + text + " (expected M-d-yyyy)");
+        return (int) date.toEpochDay();
+    }
+
+    // Opens a window with the asset counts per group; it refreshes from the maintained aggregates
+    // after every change, so no asset is scanned
+    private void showDashboard() {
+        if (dashboardStage != null) {
+            dashboardStage.toFront();
+            return;
+        }
+
+        Label totalLabel = new Label();
+        TabPane tabs = new TabPane();
+        Map<AssetAggregates.View, ListView<String>> lists = new LinkedHashMap<>();
+        for (AssetAggregates.View view : aggregates.getViews()) {
+            ListView<String> list = new ListView<>();
+            lists.put(view, list);
+            Tab tab = new Tab(view.getName(), list);
+            tab.setClosable(false);
+            tabs.getTabs().add(tab);
+        }
+
+        Runnable refresh = () -> {
+            totalLabel.setText("Total assets: " + aggregates.getTotal());
+            lists.forEach((view, list) -> list.setItems(FXCollections.observableArrayList(
+                    view.counts().entrySet().stream()
+                            .map(entry -> entry.getKey() + ": " + entry.getValue())
+                            .collect(Collectors.toList()))));
+        };
+        refresh.run();
+
+        // Coalesce a batch of changes (e.g. a bulk update or undo) into one refresh
+        boolean[] refreshPending = {false};
+        Runnable unsubscribe = assetManager.getChangeFeed().subscribe((sequence, change) -> {
+            if (refreshPending[0]) return;
+            refreshPending[0] = true;
+            Platform.runLater(() -> {
+                refreshPending[0] = false;
+                refresh.run();
+            });
+        });
+
+        VBox content = new VBox(10, totalLabel, tabs);
+        content.setPadding(new Insets(10));
+        VBox.setVgrow(tabs, Priority.ALWAYS);
+
+        dashboardStage = new Stage();
+        dashboardStage.setTitle("Asset Dashboard");
+        dashboardStage.setScene(new Scene(content, 400, 500));
+        dashboardStage.setOnHidden(e -> {
+            unsubscribe.run();
+            dashboardStage = null;
+        });
+        dashboardStage.show();
+    }
+
+    // Alerts the user to hardware that has reached its maintenance date
+    private void showMaintenanceDue(List<MaintenanceScheduler.Entry> due) {
+        LocalDate today = LocalDate.now();
+        String list = due.stream().limit(20)
+                .map(entry -> formatMaintenance(entry, today))
+                .collect(Collectors.joining("\n"));
+        if (due.size() > 20) list += "\n... and " + (due.size() - 20) + " more";
+
+        Alert alert = new Alert(Alert.AlertType.WARNING, list, ButtonType.OK);
+        alert.setTitle("Maintenance Due");
+        alert.setHeaderText(due.size() + " hardware asset(s) due for maintenance");
+        alert.show();
+    }
+
+    // Shows the hardware assets with the earliest maintenance dates
+    private void showUpcomingMaintenance() {
+        LocalDate today = LocalDate.now();
+        ListView<String> list = new ListView<>(FXCollections.observableArrayList(
+                maintenance.nextDue(100).stream()
+                        .map(entry -> formatMaintenance(entry, today))
+                        .collect(Collectors.toList())));
+
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("Upcoming Maintenance");
+        dialog.setHeaderText(maintenance.size() + " hardware assets scheduled, "
+                + maintenance.overdueCount(today) + " overdue");
+        dialog.getDialogPane().setContent(list);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+        dialog.showAndWait();
+    }
+
+    // One line per scheduled maintenance, e.g. "3-4-2026  042 Laptop (Building A) - overdue"
+    private static String formatMaintenance(MaintenanceScheduler.Entry entry, LocalDate today) {
+        HardwareAsset asset = entry.asset();
+        return asset.getMaintenanceDate() + "  " + asset.getAssetID() + " " + asset.getName()
+                + " (" + asset.getLocation() + ")" + (entry.isOverdue(today) ? " - overdue" : "");
+    }
+
+    // Keeps new IDs above the highest loaded ID, found on the right spine of the ID tree
+    private void updateNextAssetID() throws IOException {
+        Asset maxAsset = assetIndex.getAssetBST().max();
+        if (maxAsset != null) idAllocator.observe(Long.parseLong(maxAsset.getAssetID()));
     }
 
     // Displays an error message in an alert dialog
@@ -425,60 +705,84 @@ public class AssetManagementSystem extends Application {
         alert.showAndWait();
     }
 
-    // Saves the current asset list state for undo functionality
-    private void saveStateForUndo() {
-        undoStack.push(deepCopy(assetManager.getAssets()));
-        redoStack.clear();
+    // Shows an edit applied by the session in the table and schedules a save
+    private void changesApplied(List<AssetChange> changes) {
+        updateTable(changes);
+        autosave.markDirty();
     }
 
-    // Undoes the last change by restoring the previous state
-    private void undo() {
-        if (!undoStack.isEmpty()) {
-            redoStack.push(deepCopy(assetManager.getAssets()));
-            assetManager.getAssets().clear();
-            assetManager.getAssets().addAll(undoStack.pop());
-            assetTable.setItems(FXCollections.observableArrayList(assetManager.getAssets()));
+    // Mirrors applied changes in the table. Small batches are patched in place, keeping the current
+    // sort order; batches as large as the index's bulk threshold replace the items and sort once
+    private void updateTable(List<AssetChange> changes) {
+        ObservableList<Asset> items = assetTable.getItems();
+        if (changes.size() >= AssetIndex.BATCH_THRESHOLD) {
+            items.setAll(assetManager.getAssets());
+            assetTable.sort();
+            return;
         }
-    }
-
-    // Redoes the last undone change
-    private void redo() {
-        if (!redoStack.isEmpty()) {
-            undoStack.push(deepCopy(assetManager.getAssets()));
-            assetManager.getAssets().clear();
-            assetManager.getAssets().addAll(redoStack.pop());
-            assetTable.setItems(FXCollections.observableArrayList(assetManager.getAssets()));
+        Comparator<Asset> order = assetTable.getComparator();
+        for (AssetChange change : changes) {
+            int index = change.before() == null ? -1 : items.indexOf(change.before());
+            if (change.after() == null) {
+                if (index >= 0) items.remove(index);
+            } else if (index >= 0 && order == null) {
+                items.set(index, change.after());
+            } else {
+                if (index >= 0) items.remove(index);
+                int position = order == null ? items.size() : Collections.binarySearch(items, change.after(), order);
+                items.add(position < 0 ? -position - 1 : position, change.after());
+            }
         }
     }
 
-    // Deletes the selected asset from the table, list, and BST
+    // Deletes the selected asset from the table, list, and index
     private void deleteSelectedAsset() {
         Asset selected = assetTable.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            saveStateForUndo();
-            assetManager.getAssets().remove(selected);
-            assetTable.getItems().remove(selected);
-            assetBST.delete(selected.getAssetID());
+            List<AssetChange> changes = List.of(AssetChange.removed(selected));
+            session.perform(changes);
         } else {
             showError("Please select an asset to delete.");
         }
     }
 
-    // Creates a deep copy of the list of assets to preserve state for undo/redo
-    private List<Asset> deepCopy(List<Asset> assets) {
-        List<Asset> copy = new ArrayList<>();
-        for (Asset asset : assets) {
-            if (asset instanceof HardwareAsset ha) {
-                copy.add(new HardwareAsset(
-                        ha.getAssetID(), ha.getName(), ha.getManufacturer(), ha.getModel(), ha.getPurchaseDate(),
-                        ha.isActive(), ha.getLocation(), ha.getMaintenanceDate()));
-            } else if (asset instanceof SoftwareAsset sa) {
-                copy.add(new SoftwareAsset(
-                        sa.getAssetID(), sa.getName(), sa.getManufacturer(), sa.getModel(), sa.getPurchaseDate(),
-                        sa.isActive(), sa.getVersion(), sa.getLicenseKey()));
+    // Drops journal entries that a completed save has made redundant; runs on the autosave thread
+    private void checkpointJournal(long savedSequence) {
+        if (journal == null) return;
+        try {
+            journal.checkpoint(savedSequence);
+        } catch (IOException e) {
+            Platform.runLater(() -> showError("Error trimming the replication journal."));
+        }
+    }
+
+    // Writes any unsaved changes before the application exits
+    @Override
+    public void stop() throws IOException {
+        try {
+            if (autosave != null) {
+                autosave.close();
+                // Persist the built index for the next startup once the file matches the assets
+                if (!autosave.isDirty()) writeIndexFile();
             }
+        } finally {
+            // Release the journal, timer and ID lease even if saving failed
+            try {
+                if (journal != null) journal.close();
+            } finally {
+                maintenance.close();
+                idAllocator.close();
+            }
+        }
+    }
+
+    // Writes the index sidecar; it only speeds up the next startup, so a failure is reported and ignored
+    private void writeIndexFile() {
+        try {
+            AssetIndexFile.write(assetIndex, assetManager.getAssets(), AssetIndexFile.indexFileFor("SavedAssets.txt"));
+        } catch (IOException e) {
+            System.err.println("Could not write the index file, it will be rebuilt on the next start: " + e.getMessage());
         }
-        return copy;
     }
 
     // Launches the JavaFX application
@@ -2,20 +2,73 @@ package com.example.assetmanagementsystem;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * AssetManager handles the management of a collection of Asset objects.
  * It allows adding assets, retrieving the asset list, and sorting the list
  * based on a given attribute using the QuickSort algorithm.
+ * The backing list is pluggable, so large inventories can use a compact or off-heap
+ * storage mode instead of the default ArrayList.
+ *
+ * The compact and off-heap modes rebuild an Asset on every read, so they suit headless uses
+ * such as bulk imports, exports and column scans, but not the GUI: AssetIndex, AssetSession and
+ * the table all find assets by identity. AssetSession rejects a manager in these modes.
  */
 class AssetManager {
-    private ArrayList<Asset> assets;
+    private final List<Asset> assets;
+
+    // Whether the list returns the same object each time an asset is read
+    private final boolean keepsIdentity;
+
+    // Ordered feed of changes made to the managed assets
+    private final AssetChangeFeed changeFeed = new AssetChangeFeed();
 
     /**
      * Constructs an AssetManager with an empty list of assets.
      */
     public AssetManager() {
-        this.assets = new ArrayList<>();
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Constructs an AssetManager backed by the given list.
+     *
+     * @param storage The list used to hold the managed assets.
+     */
+    public AssetManager(List<Asset> storage) {
+        this(storage, true);
+    }
+
+    // Constructs an AssetManager over a list that may rebuild assets on every read
+    private AssetManager(List<Asset> storage, boolean keepsIdentity) {
+        this.assets = storage;
+        this.keepsIdentity = keepsIdentity;
+    }
+
+    /**
+     * Creates an AssetManager in compact storage mode, where assets are dictionary-encoded
+     * into primitive columns and materialized on demand. Each read returns a new object, so
+     * the manager cannot back an AssetSession.
+     *
+     * @return An AssetManager backed by a CompactAssetStore.
+     */
+    public static AssetManager compact() {
+        return new AssetManager(new CompactAssetStore(), false);
+    }
+
+    /**
+     * Creates an AssetManager whose assets are held off-heap in a columnar table,
+     * keeping multi-million-row inventories out of garbage collector scans. Each read returns
+     * a new object, so the manager cannot back an AssetSession.
+     *
+     * @return An AssetManager backed by an OffHeapAssetStore.
+     */
+    public static AssetManager offHeap() {
+        return new AssetManager(new OffHeapAssetStore(), false);
     }
 
     /**
@@ -27,6 +80,64 @@ class AssetManager {
         assets.add(asset);
     }
 
+    /**
+     * Returns the assets matching a predicate, in list order.
+     *
+     * @param selector The condition an asset must meet.
+     * @return The matching assets.
+     */
+    public List<Asset> select(Predicate<Asset> selector) {
+        List<Asset> matches = new ArrayList<>();
+        for (Asset asset : assets) {
+            if (selector.test(asset)) matches.add(asset);
+        }
+        return matches;
+    }
+
+    /**
+     * Applies a batch of changes in a single pass over the list: modified assets are replaced
+     * in place, removed assets are compacted out, and added assets are appended. Changes are
+     * matched by asset ID; later changes to the same ID take precedence.
+     *
+     * @param changes The changes to apply.
+     */
+    public void applyChanges(List<AssetChange> changes) {
+        // Net effect per existing ID: the new version, or null if removed
+        Map<String, Asset> updates = new HashMap<>();
+        Map<String, Asset> additions = new HashMap<>();
+        for (AssetChange change : changes) {
+            String id = change.assetID();
+            if (change.type() == AssetChange.Type.ADDED) {
+                additions.put(id, change.after());
+            } else if (additions.containsKey(id)) {
+                // Added earlier in this batch: still an addition (or nothing, if removed again)
+                if (change.after() == null) additions.remove(id);
+                else additions.put(id, change.after());
+            } else {
+                updates.put(id, change.after());
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            int write = 0;
+            int size = assets.size();
+            for (int read = 0; read < size; read++) {
+                Asset asset = assets.get(read);
+                String id = asset.getAssetID();
+                Asset replacement = updates.containsKey(id) ? updates.get(id) : asset;
+                if (replacement == null) continue; // Removed
+                if (write != read || replacement != asset) assets.set(write, replacement);
+                write++;
+            }
+            assets.subList(write, size).clear();
+        }
+        for (AssetChange change : changes) {
+            // Append the newest version of each addition, in batch order
+            Asset added = change.type() == AssetChange.Type.ADDED ? additions.remove(change.assetID()) : null;
+            if (added != null) assets.add(added);
+        }
+    }
+
     /**
      * Sorts the asset list by a specified attribute.
      * Valid attributes include: assetID, name, manufacturer, model, purchaseDate.
@@ -45,7 +156,7 @@ class AssetManager {
      * @param high      The ending index.
      * @param attribute The attribute to sort by.
      */
-    private void quickSort(ArrayList<Asset> list, int low, int high, String attribute) {
+    private void quickSort(List<Asset> list, int low, int high, String attribute) {
         if (low < high) {
             int pi = partition(list, low, high, attribute);
             quickSort(list, low, pi - 1, attribute);
@@ -62,7 +173,7 @@ class AssetManager {
      * @param attribute The attribute to compare.
      * @return The partition index.
      */
-    private int partition(ArrayList<Asset> list, int low, int high, String attribute) {
+    private int partition(List<Asset> list, int low, int high, String attribute) {
         Asset pivot = list.get(high);
         String pivotValue = getAttributeValue(pivot, attribute);
 
@@ -107,7 +218,27 @@ class AssetManager {
      *
      * @return The asset list.
      */
-    public ArrayList<Asset> getAssets() {
+    public List<Asset> getAssets() {
         return assets;
     }
+
+    /**
+     * Returns whether reading the same asset twice returns the same object, as identity-based
+     * structures such as AssetIndex and AssetSession require.
+     *
+     * @return False for the compact and off-heap storage modes.
+     */
+    public boolean keepsAssetIdentity() {
+        return keepsIdentity;
+    }
+
+    /**
+     * Returns the feed on which changes to the managed assets are published.
+     * Code that mutates the asset list is responsible for publishing matching events.
+     *
+     * @return The change feed.
+     */
+    public AssetChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
 }
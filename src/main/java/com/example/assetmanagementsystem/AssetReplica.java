@@ -0,0 +1,340 @@
+package com.example.assetmanagementsystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AssetReplica is a read-only copy of the inventory kept up to date from a primary's
+ * ReplicationJournal. It bootstraps from the snapshot file plus the journal, then polls the
+ * journal and applies new entries to its own asset map and AssetIndex, so read-heavy consumers
+ * can search without each loading the whole file. Applied changes are republished on the
+ * replica's own change feed.
+ *
+ * The replica reloads the snapshot whenever it cannot continue from the journal alone: the
+ * primary restarted (new stream ID), or a checkpoint dropped entries it had not read yet,
+ * which shows up as a gap in the sequence numbers.
+ *
+ * Replicas can run in their own JVM; see main.
+ */
+class AssetReplica implements AutoCloseable {
+
+    /**
+     * Replication progress at a point in time.
+     *
+     * @param appliedSequence The primary's feed sequence this replica has applied up to.
+     * @param assetCount      Number of assets in the replica.
+     * @param lagMillis       Time from the primary journaling the newest applied change until it was applied.
+     * @param bootstraps      Number of times the replica loaded the snapshot.
+     */
+    record Status(long appliedSequence, int assetCount, long lagMillis, long bootstraps) {
+    }
+
+    // The journal header fields identifying where the entries start
+    private record Header(long streamID, long baseSequence, int length) {
+    }
+
+    private final String snapshotFile;
+    private final String journalFile;
+    private final AssetChangeFeed changeFeed = new AssetChangeFeed();
+
+    // Replicated state guarded by this
+    private final Map<String, Asset> assets = new LinkedHashMap<>();
+    private final AssetIndex assetIndex = new AssetIndex();
+    private long appliedSequence;
+    private long lagMillis;
+    private long bootstraps;
+
+    // Journal read position, only touched by the polling thread
+    private Header header;
+    private long position;
+
+    private ScheduledExecutorService poller;
+
+    /**
+     * Constructs a replica. Nothing is loaded until the first poll.
+     *
+     * @param snapshotFile The primary's snapshot file, e.g. "SavedAssets.txt".
+     * @param journalFile  The primary's journal file, see ReplicationJournal.journalFileFor.
+     */
+    public AssetReplica(String snapshotFile, String journalFile) {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Polls the journal in the background until the replica is closed. Poll failures (e.g. the
+     * primary has not created the journal yet) are retried on the next poll.
+     *
+     * @param intervalMillis Time between polls.
+     */
+    public synchronized void start(long intervalMillis) {
+        if (poller != null) return;
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "asset-replica");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (IOException | RuntimeException e) {
+                // Start over from the snapshot once the files are readable again; an exception
+                // escaping the task would cancel every later poll
+                header = null;
+            }
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Applies every complete journal entry written since the last poll, bootstrapping from the
+     * snapshot first if needed. Must not be called concurrently with itself.
+     *
+     * @return The number of journal entries applied.
+     * @throws IOException if the snapshot or journal cannot be read, or the snapshot has an asset
+     *                     with a non-numeric ID.
+     */
+    public int poll() throws IOException {
+        if (header == null) bootstrap();
+
+        try (RandomAccessFile journal = new RandomAccessFile(journalFile, "r")) {
+            Header current = readHeader(journal);
+            if (current == null || current.streamID() != header.streamID()) {
+                // Restarted primary
+                header = null;
+                return poll();
+            }
+            if (current.baseSequence() != header.baseSequence()) {
+                // Checkpointed journal of the same stream: reread it, skipping entries already applied
+                // and reloading the snapshot if it no longer reaches back to this replica's position
+                header = current;
+                position = current.length();
+            }
+
+            long length = journal.length();
+            if (length <= position) return 0;
+            byte[] bytes = new byte[(int) (length - position)];
+            journal.seek(position);
+            journal.readFully(bytes);
+            return applyEntries(bytes);
+        }
+    }
+
+    /**
+     * Finds an asset by ID.
+     *
+     * @param assetID The asset ID to look up.
+     * @return The matching asset, or null if not found.
+     */
+    public synchronized Asset findByID(String assetID) {
+        return assetIndex.findByID(assetID);
+    }
+
+    /**
+     * Searches an attribute of the replicated assets; see AssetIndex.search.
+     *
+     * @param attribute The attribute name, e.g. "Manufacturer".
+     * @param query     The search term.
+     * @return Exact matches followed by partial matches.
+     */
+    public synchronized List<Asset> search(String attribute, String query) {
+        return assetIndex.search(attribute, query);
+    }
+
+    /**
+     * Returns a copy of the replicated assets.
+     *
+     * @return The assets, in the order they were first replicated.
+     */
+    public synchronized List<Asset> getAssets() {
+        return new ArrayList<>(assets.values());
+    }
+
+    /**
+     * Returns the replica's current progress.
+     *
+     * @return The replication status.
+     */
+    public synchronized Status getStatus() {
+        return new Status(appliedSequence, assets.size(), lagMillis, bootstraps);
+    }
+
+    /**
+     * Returns the feed on which every change applied to this replica is republished.
+     * Listeners are called on the polling thread.
+     *
+     * @return The replica's change feed.
+     */
+    public AssetChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    /**
+     * Stops background polling.
+     */
+    @Override
+    public synchronized void close() {
+        if (poller != null) poller.shutdownNow();
+        poller = null;
+    }
+
+    // Loads the snapshot, retrying until the journal header is unchanged around the read so the
+    // snapshot is at least as new as the journal's base sequence
+    private void bootstrap() throws IOException {
+        Header before;
+        List<Asset> snapshot;
+        while (true) {
+            before = readHeader();
+            snapshot = loadSnapshot();
+            if (before != null && before.equals(readHeader())) break;
+            if (before == null) throw new FileNotFoundException("No journal header in " + journalFile);
+        }
+
+        synchronized (this) {
+            // Diff first, so a snapshot with a bad ID leaves the replica as it was
+            List<AssetChange> changes;
+            try {
+                changes = AssetDiff.diffSnapshots(new ArrayList<>(assets.values()), snapshot);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid asset ID in " + snapshotFile, e);
+            }
+            assets.clear();
+            for (Asset asset : snapshot) assets.putIfAbsent(asset.getAssetID(), asset); // First wins
+            assetIndex.rebuild(new ArrayList<>(assets.values()));
+            appliedSequence = before.baseSequence();
+            bootstraps++;
+            changeFeed.publishAll(changes);
+        }
+        header = before;
+        position = before.length();
+    }
+
+    // A missing snapshot means the primary started with an empty inventory
+    private List<Asset> loadSnapshot() throws IOException {
+        try {
+            return FileManager.loadAssetsFromFile(snapshotFile);
+        } catch (FileNotFoundException e) {
+            return List.of();
+        }
+    }
+
+    // Applies the complete lines in a chunk read from the journal, leaving any partial last line for the next poll
+    private int applyEntries(byte[] bytes) {
+        int applied = 0;
+        int start = 0;
+        synchronized (this) {
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] != '\n') continue;
+                int end = i > start && bytes[i - 1] == '\r' ? i - 1 : i;
+                String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                start = i + 1;
+
+                long sequence = ReplicationJournal.sequenceOf(line);
+                if (sequence <= appliedSequence) continue; // Already applied before a checkpoint
+                if (sequence != appliedSequence + 1) {
+                    header = null; // Gap: reload the snapshot on the next poll
+                    break;
+                }
+                String[] parts = line.split(",", 3);
+                long timestamp = parts.length == 3 ? parseTimestamp(parts[1]) : -1;
+                AssetChange change = timestamp >= 0 ? AssetChange.fromRecord(parts[2]) : null;
+                if (change == null) {
+                    header = null; // Malformed entry: reload the snapshot on the next poll
+                    break;
+                }
+                apply(change);
+                appliedSequence = sequence;
+                lagMillis = Math.max(0, System.currentTimeMillis() - timestamp);
+                applied++;
+            }
+        }
+        position += start;
+        return applied;
+    }
+
+    // Applies a journal entry as an upsert or delete by asset ID
+    private void apply(AssetChange change) {
+        Asset existing = change.type() == AssetChange.Type.REMOVED
+                ? assets.remove(change.assetID())
+                : assets.put(change.assetID(), change.after());
+        if (existing != null) assetIndex.remove(existing);
+        if (change.after() != null) assetIndex.add(change.after());
+
+        if (change.after() == null) {
+            if (existing != null) changeFeed.publish(AssetChange.removed(existing));
+        } else if (existing == null) {
+            changeFeed.publish(AssetChange.added(change.after()));
+        } else {
+            changeFeed.publish(AssetChange.modified(existing, change.after()));
+        }
+    }
+
+    private static long parseTimestamp(String field) {
+        try {
+            return Long.parseLong(field);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Header readHeader() throws IOException {
+        try (RandomAccessFile journal = new RandomAccessFile(journalFile, "r")) {
+            return readHeader(journal);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    // Reads and parses the header line at the start of the journal
+    private static Header readHeader(RandomAccessFile journal) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = journal.read()) != -1 && b != '\n') line.write(b);
+        if (b == -1) return null;
+
+        String[] fields = line.toString(StandardCharsets.UTF_8).strip().split(",");
+        if (fields.length != 3 || !fields[0].equals(ReplicationJournal.HEADER)) return null;
+        try {
+            return new Header(Long.parseLong(fields[1]), Long.parseLong(fields[2]), line.size() + 1);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Runs a replica in its own process and prints its status once a second.
+     * Usage: AssetReplica [snapshotFile] [journalFile] [pollMillis]
+     *
+     * @param args Optional snapshot file, journal file and poll interval.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String snapshotFile = args.length > 0 ? args[0] : "SavedAssets.txt";
+        String journalFile = args.length > 1 ? args[1] : ReplicationJournal.journalFileFor(snapshotFile);
+        long pollMillis = args.length > 2 ? Long.parseLong(args[2]) : 100;
+
+        try (AssetReplica replica = new AssetReplica(snapshotFile, journalFile)) {
+            replica.start(pollMillis);
+            Status last = null;
+            while (true) {
+                Thread.sleep(1000);
+                Status status = replica.getStatus();
+                if (!Objects.equals(status, last)) {
+                    System.out.printf("sequence %d, %d assets, lag %d ms, %d snapshot loads%n",
+                            status.appliedSequence(), status.assetCount(), status.lagMillis(), status.bootstraps());
+                    last = status;
+                }
+            }
+        }
+    }
+}
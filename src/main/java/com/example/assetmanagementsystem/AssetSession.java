@@ -0,0 +1,130 @@
+package com.example.assetmanagementsystem;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * AssetSession is the editable inventory behind the GUI: the asset list, its index and the
+ * undo/redo history. Every edit goes through perform, undo or redo, which apply a batch of
+ * changes to the list and the index in one pass, hand it to the owner (to update the table and
+ * schedule a save) and publish it on the change feed.
+ *
+ * Loading a file replaces the inventory without recording an undo step, since undoing a load
+ * would delete every asset, and it clears the history, whose changes refer to the assets that
+ * were replaced. The load is still published, so feed consumers see the loaded assets.
+ */
+class AssetSession {
+    private final AssetManager assetManager;
+    private final AssetIndex assetIndex;
+    private final Consumer<List<AssetChange>> onApplied;
+
+    // Undo/redo history stacks; each entry is the batch of changes made by one action
+    private final Deque<List<AssetChange>> undoStack = new ArrayDeque<>();
+    private final Deque<List<AssetChange>> redoStack = new ArrayDeque<>();
+
+    /**
+     * Constructs a session over an asset list and its index.
+     *
+     * @param assetManager The asset list and its change feed.
+     * @param assetIndex   The index kept in step with the list.
+     * @param onApplied    Called with each edit after it is applied and before it is published,
+     *                     e.g. to update the view and schedule a save. Not called for loads.
+     * @throws IllegalArgumentException if the asset list rebuilds assets on every read, since the
+     *                                  index and the history refer to assets by identity.
+     */
+    public AssetSession(AssetManager assetManager, AssetIndex assetIndex, Consumer<List<AssetChange>> onApplied) {
+        if (!assetManager.keepsAssetIdentity()) {
+            throw new IllegalArgumentException("An AssetSession needs an asset list that keeps asset identity");
+        }
+        this.assetManager = assetManager;
+        this.assetIndex = assetIndex;
+        this.onApplied = onApplied;
+    }
+
+    /**
+     * Replaces the inventory with the contents of an asset file. The index is restored from its
+     * sidecar file if the sidecar matches the file, and rebuilt otherwise.
+     *
+     * Every row is decoded up front rather than on demand (see LazyAssetList): the index refers
+     * to each asset and covers every attribute, and the published load is read in full by the
+     * dashboard aggregates and the maintenance schedule, so a lazily decoded list would be fully
+     * decoded before the load returned.
+     *
+     * @param filename The asset file to load.
+     * @return The changes from the previous inventory to the loaded one, as published.
+     * @throws IOException if the file cannot be read or has an asset with a non-numeric ID; the
+     *                     inventory is left unchanged.
+     */
+    public List<AssetChange> load(String filename) throws IOException {
+        CRC32 checksum = new CRC32();
+        List<Asset> loadedAssets = FileManager.loadAssetsFromFile(filename, checksum);
+        // Diff before replacing anything, so a bad ID fails the load without a partial update
+        List<AssetChange> changes;
+        try {
+            changes = AssetDiff.diffSnapshots(assetManager.getAssets(), loadedAssets);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid asset ID in " + filename, e);
+        }
+        assetManager.getAssets().clear();
+        assetManager.getAssets().addAll(loadedAssets);
+        // Restore the prebuilt index if it matches the file, otherwise build it in one pass
+        if (!AssetIndexFile.load(AssetIndexFile.indexFileFor(filename), loadedAssets, checksum.getValue(), assetIndex)) {
+            assetIndex.rebuild(loadedAssets);
+        }
+        undoStack.clear();
+        redoStack.clear();
+        assetManager.getChangeFeed().publishAll(changes);
+        return changes;
+    }
+
+    /**
+     * Applies the changes made by one user action and records them for undo.
+     *
+     * @param changes The changes; assets are immutable, so no copies are needed.
+     */
+    public void perform(List<AssetChange> changes) {
+        if (changes.isEmpty()) return;
+        undoStack.push(changes);
+        redoStack.clear();
+        apply(changes);
+    }
+
+    /**
+     * Undoes the last action by applying the inverse of its changes.
+     *
+     * @return True if there was an action to undo.
+     */
+    public boolean undo() {
+        if (undoStack.isEmpty()) return false;
+        List<AssetChange> changes = undoStack.pop();
+        redoStack.push(changes);
+        apply(AssetChange.inverseOf(changes));
+        return true;
+    }
+
+    /**
+     * Redoes the last undone action.
+     *
+     * @return True if there was an action to redo.
+     */
+    public boolean redo() {
+        if (redoStack.isEmpty()) return false;
+        List<AssetChange> changes = redoStack.pop();
+        undoStack.push(changes);
+        apply(changes);
+        return true;
+    }
+
+    // Applies a batch of changes to the list and index in one pass, then hands them on and publishes them
+    private void apply(List<AssetChange> changes) {
+        if (changes.isEmpty()) return;
+        assetManager.applyChanges(changes);
+        assetIndex.applyChanges(changes);
+        onApplied.accept(changes);
+        assetManager.getChangeFeed().publishAll(changes);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.assetmanagementsystem;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * AutosaveScheduler writes the asset list to disk in the background. Edits only mark the
+ * inventory dirty; after a quiet period the scheduler posts a task to the owning thread (the
+ * JavaFX application thread) that takes an immutable snapshot and hands it to a dedicated writer
+ * thread, which saves it using FileManager.saveAssetsAtomically, so readers never see a partially
+ * written file. The writer never waits for the owner thread, so the owner thread can safely wait
+ * for the writer when closing.
+ *
+ * Writes are double-buffered: at most one snapshot is being written while later edits
+ * accumulate, and a burst of edits during a write results in a single follow-up save of
+ * the newest state. Save duration and save lag (time from the first unsaved edit until
+ * it reached disk) are reported through Stats, together with the version of the state that
+ * was written (e.g. the change feed sequence), so callers know exactly what is on disk.
+ */
+class AutosaveScheduler implements AutoCloseable {
+
+    /**
+     * Timing of a completed save.
+     *
+     * @param assetCount     Number of assets written.
+     * @param durationMillis Time spent writing the snapshot.
+     * @param lagMillis      Time from the first unsaved change until the save completed.
+     * @param saveCount      Number of saves completed so far.
+     * @param version        Version of the state that was written, as reported by the version source.
+     */
+    record Stats(int assetCount, long durationMillis, long lagMillis, long saveCount, long version) {
+    }
+
+    // A snapshot and the version of the state it was taken from
+    private record Snapshot(List<Asset> assets, long version) {
+    }
+
+    private final Supplier<List<Asset>> snapshotter;
+    private final LongSupplier versionSource;
+    private final Executor ownerThread;
+    private final String filename;
+    private final long delayMillis;
+    private final Consumer<Stats> onSaved;
+    private final Consumer<Throwable> onError;
+
+    // Single writer thread; also runs the delayed flush timers
+    private final ScheduledThreadPoolExecutor writer;
+
+    // State guarded by this
+    private long generation;       // Incremented on every change
+    private long queuedGeneration; // Generation of the newest snapshot handed to the writer
+    private long savedGeneration;  // Generation of the newest snapshot written
+    private long dirtySinceNanos;  // When the oldest unsaved change was made
+    private ScheduledFuture<?> pendingFlush;
+    private long saveCount;
+    private Stats lastStats;
+    private boolean closed;
+
+    /**
+     * Constructs an autosave scheduler.
+     *
+     * @param snapshotter   Produces an immutable snapshot of the asset list (e.g. SnapshotAssetList.snapshot,
+     *                      which shares unchanged rows rather than copying them); called on ownerThread,
+     *                      or on the thread calling saveNow or close.
+     * @param versionSource Reports the version of the current state; called with each snapshot.
+     * @param ownerThread Runs tasks on the thread that owns the asset list (e.g. Platform::runLater).
+     * @param filename    The file to save to.
+     * @param delay       Quiet period after the last change before saving.
+     * @param onSaved     Called on the writer thread after each successful save.
+     * @param onError     Called on the writer thread when a save fails.
+     */
+    public AutosaveScheduler(Supplier<List<Asset>> snapshotter, LongSupplier versionSource, Executor ownerThread,
+                             String filename, Duration delay, Consumer<Stats> onSaved, Consumer<Throwable> onError) {
+        this.snapshotter = snapshotter;
+        this.versionSource = versionSource;
+        this.ownerThread = ownerThread;
+        this.filename = filename;
+        this.delayMillis = delay.toMillis();
+        this.onSaved = onSaved;
+        this.onError = onError;
+
+        writer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "asset-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Records that the asset list changed. The save is deferred until no further changes
+     * arrive for the configured delay, so bursts of edits are coalesced into one write.
+     */
+    public synchronized void markDirty() {
+        if (generation == savedGeneration) dirtySinceNanos = System.nanoTime();
+        generation++;
+        if (closed) return;
+        if (pendingFlush != null) pendingFlush.cancel(false);
+        pendingFlush = writer.schedule(() -> ownerThread.execute(this::flushOnOwner), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saves the current state immediately in the background. Must be called on the owner thread;
+     * the snapshot is taken before this method returns.
+     *
+     * @return A future that completes when the snapshot has been written.
+     */
+    public CompletableFuture<Void> saveNow() {
+        long snapshotGeneration;
+        synchronized (this) {
+            if (pendingFlush != null) pendingFlush.cancel(false);
+            pendingFlush = null;
+            if (generation == savedGeneration) dirtySinceNanos = System.nanoTime();
+            snapshotGeneration = generation;
+        }
+        return submit(takeSnapshot(), snapshotGeneration);
+    }
+
+    /**
+     * Returns whether there are changes that have not yet been written.
+     *
+     * @return True if the file is behind the in-memory state.
+     */
+    public synchronized boolean isDirty() {
+        return generation != savedGeneration;
+    }
+
+    /**
+     * Returns the timing of the most recent successful save.
+     *
+     * @return The latest stats, or null if nothing has been saved yet.
+     */
+    public synchronized Stats getLastStats() {
+        return lastStats;
+    }
+
+    /**
+     * Stops the scheduler, saving any changes that have not been handed to the writer yet, and
+     * waits for the remaining writes to finish. Must be called on the owner thread.
+     */
+    @Override
+    public void close() {
+        long snapshotGeneration;
+        boolean unsaved;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            if (pendingFlush != null) pendingFlush.cancel(false);
+            pendingFlush = null;
+            snapshotGeneration = generation;
+            unsaved = generation != queuedGeneration;
+        }
+        if (unsaved) submit(takeSnapshot(), snapshotGeneration);
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Runs on the owner thread once the quiet period has passed: snapshots the state for the writer
+    private void flushOnOwner() {
+        long snapshotGeneration;
+        synchronized (this) {
+            if (closed || generation == queuedGeneration) return; // Closed, or already saved by saveNow
+            snapshotGeneration = generation;
+        }
+        submit(takeSnapshot(), snapshotGeneration);
+    }
+
+    // Copies the current state; runs on the owner thread
+    private Snapshot takeSnapshot() {
+        return new Snapshot(snapshotter.get(), versionSource.getAsLong());
+    }
+
+    // Queues a snapshot for the writer thread
+    private CompletableFuture<Void> submit(Snapshot snapshot, long snapshotGeneration) {
+        synchronized (this) {
+            queuedGeneration = Math.max(queuedGeneration, snapshotGeneration);
+        }
+        try {
+            return CompletableFuture.runAsync(() -> write(snapshot, snapshotGeneration), writer);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e); // Closed while the snapshot was taken
+        }
+    }
+
+    // Writes a snapshot atomically and records its timing
+    private void write(Snapshot snapshot, long snapshotGeneration) {
+        long start = System.nanoTime();
+        try {
+            FileManager.saveAssetsAtomically(snapshot.assets(), filename);
+        } catch (IOException e) {
+            onError.accept(e);
+            return;
+        }
+        long end = System.nanoTime();
+
+        Stats stats;
+        synchronized (this) {
+            if (snapshotGeneration < savedGeneration) return; // A newer snapshot was already written
+            long lagNanos = end - dirtySinceNanos;
+            savedGeneration = snapshotGeneration;
+            // Changes made while writing become the next save's lag
+            if (generation != savedGeneration) dirtySinceNanos = start;
+            stats = new Stats(snapshot.assets().size(), TimeUnit.NANOSECONDS.toMillis(end - start),
+                    TimeUnit.NANOSECONDS.toMillis(lagNanos), ++saveCount, snapshot.version());
+            lastStats = stats;
+        }
+        onSaved.accept(stats);
+    }
+}
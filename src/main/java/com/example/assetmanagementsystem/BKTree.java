@@ -0,0 +1,229 @@
+package com.example.assetmanagementsystem;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * BKTree (Burkhard-Keller tree) indexes attribute values for typo-tolerant lookup by edit distance.
+ * Each node holds one distinct, lower-cased term and the assets carrying it; children are keyed by
+ * their Levenshtein distance to the parent. The triangle inequality lets a query with tolerance k
+ * skip every child whose edge distance lies outside [d - k, d + k], so only a small part of the
+ * tree is compared against the query instead of every term.
+ *
+ * Removing the last asset for a term leaves the node in place (with no assets) so the tree
+ * structure stays valid; such nodes are skipped in results.
+ */
+class BKTree {
+
+    /**
+     * A term within the requested edit distance of a query.
+     *
+     * @param term     The matching term (lower-cased).
+     * @param distance The edit distance from the query.
+     * @param assets   The assets carrying the term.
+     */
+    record Match(String term, int distance, List<Asset> assets) {
+    }
+
+    // One distinct term and its children keyed by distance
+    private static class Node {
+        final String term;
+        final List<Asset> assets = new ArrayList<>();
+        final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String term) {
+            this.term = term;
+        }
+    }
+
+    private Node root;
+
+    /**
+     * Adds an asset under a term.
+     *
+     * @param term  The attribute value.
+     * @param asset The asset carrying it.
+     */
+    public void add(String term, Asset asset) {
+        String key = term.toLowerCase();
+        if (root == null) {
+            root = new Node(key);
+            root.assets.add(asset);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(key, node.term);
+            if (distance == 0) {
+                node.assets.add(asset);
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                child = new Node(key);
+                child.assets.add(asset);
+                node.children.put(distance, child);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Removes an asset from a term.
+     *
+     * @param term  The attribute value it was added under.
+     * @param asset The asset to remove.
+     */
+    public void remove(String term, Asset asset) {
+        String key = term.toLowerCase();
+        Node node = root;
+        while (node != null) {
+            int distance = distance(key, node.term);
+            if (distance == 0) {
+                node.assets.remove(asset);
+                return;
+            }
+            node = node.children.get(distance);
+        }
+    }
+
+    /**
+     * Replaces or removes several assets under a term with a single pass over the term's assets.
+     *
+     * @param term         The attribute value they were added under.
+     * @param replacements Maps each asset to its replacement under the same term, or to null to remove it.
+     */
+    public void replaceAll(String term, Map<Asset, Asset> replacements) {
+        String key = term.toLowerCase();
+        Node node = root;
+        while (node != null) {
+            int distance = distance(key, node.term);
+            if (distance == 0) {
+                node.assets.replaceAll(asset -> replacements.containsKey(asset) ? replacements.get(asset) : asset);
+                node.assets.removeIf(Objects::isNull);
+                return;
+            }
+            node = node.children.get(distance);
+        }
+    }
+
+    /**
+     * Removes every term from the tree.
+     */
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Writes the tree structure for AssetIndexFile, referring to assets by row number so that no
+     * edit distances need to be recomputed when it is read back.
+     *
+     * @param out   The stream to write to.
+     * @param rowOf The row number of every indexed asset.
+     * @throws IOException if the stream cannot be written or an asset has no row.
+     */
+    void writeTo(DataOutputStream out, Map<Asset, Integer> rowOf) throws IOException {
+        out.writeBoolean(root != null);
+        if (root != null) writeNode(root, out, rowOf);
+    }
+
+    /**
+     * Replaces the tree with one written by writeTo.
+     *
+     * @param in   The buffer positioned at the tree.
+     * @param rows The assets by row number.
+     */
+    void readFrom(ByteBuffer in, List<Asset> rows) {
+        root = in.get() != 0 ? readNode(in, rows) : null;
+    }
+
+    // Writes a node in preorder: term, asset rows, then each child with its edge distance
+    private static void writeNode(Node node, DataOutputStream out, Map<Asset, Integer> rowOf) throws IOException {
+        AssetIndexFile.writeString(out, node.term);
+        AssetIndexFile.writeRows(out, node.assets, rowOf);
+        out.writeInt(node.children.size());
+        for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+            out.writeInt(child.getKey());
+            writeNode(child.getValue(), out, rowOf);
+        }
+    }
+
+    private static Node readNode(ByteBuffer in, List<Asset> rows) {
+        Node node = new Node(AssetIndexFile.readString(in));
+        node.assets.addAll(AssetIndexFile.readRows(in, rows));
+        int children = in.getInt();
+        for (int i = 0; i < children; i++) {
+            int distance = in.getInt();
+            node.children.put(distance, readNode(in, rows));
+        }
+        return node;
+    }
+
+    /**
+     * Finds all terms within an edit distance of the query, closest first.
+     *
+     * @param query       The (possibly misspelled) search term.
+     * @param maxDistance The maximum number of single-character edits allowed.
+     * @return Matches ordered by distance, then by term.
+     */
+    public List<Match> search(String query, int maxDistance) {
+        String key = query.toLowerCase();
+        List<Match> matches = new ArrayList<>();
+        if (root == null) return matches;
+
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(key, node.term);
+            if (distance <= maxDistance && !node.assets.isEmpty()) {
+                matches.add(new Match(node.term, distance, List.copyOf(node.assets)));
+            }
+            // Only children whose edge lies within [distance - k, distance + k] can hold matches
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) pending.push(child.getValue());
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::term));
+        return matches;
+    }
+
+    /**
+     * Computes the Levenshtein edit distance between two strings using two rolling rows.
+     *
+     * @param a The first string.
+     * @param b The second string.
+     * @return The number of insertions, deletions and substitutions needed to turn a into b.
+     */
+    static int distance(String a, String b) {
+        if (a.equals(b)) return 0;
+        if (a.isEmpty()) return b.length();
+        if (b.isEmpty()) return a.length();
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
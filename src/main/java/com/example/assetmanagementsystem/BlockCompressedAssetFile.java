@@ -0,0 +1,336 @@
+package com.example.assetmanagementsystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * BlockCompressedAssetFile stores assets in a compressed, randomly accessible file.
+ * Assets are sorted by numeric ID and written as the same CSV records used by SavedAssets.txt,
+ * grouped into blocks of roughly BLOCK_SIZE uncompressed bytes that are each Deflate-compressed
+ * independently. A footer lists, for every block, the first asset ID it contains and where the
+ * block lives in the file.
+ *
+ * Because blocks are independent, loading decompresses them in parallel, and a lookup by ID
+ * binary-searches the footer and decompresses only the one block that can hold the asset.
+ * Iterating decompresses one block at a time, which lets AssetDiff stream a compressed file.
+ *
+ * Layout: magic, blocks..., footer entries (firstID, offset, compressed length,
+ * uncompressed length, row count), block count, footer offset, magic.
+ */
+class BlockCompressedAssetFile implements AutoCloseable {
+    // Target uncompressed size of each block
+    static final int BLOCK_SIZE = 64 * 1024;
+
+    private static final int MAGIC = 0x414D5342; // "AMSB"
+    private static final int FOOTER_ENTRY_BYTES = Integer.BYTES + Long.BYTES + 3 * Integer.BYTES;
+    private static final int TRAILER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    // Location and contents summary of one compressed block
+    private record Block(int firstID, long offset, int compressedLength, int uncompressedLength, int rowCount) {
+    }
+
+    private final FileChannel channel;
+    private final List<Block> blocks;
+
+    private BlockCompressedAssetFile(FileChannel channel, List<Block> blocks) {
+        this.channel = channel;
+        this.blocks = blocks;
+    }
+
+    /**
+     * Writes assets to a block-compressed file, sorted by asset ID. Blocks are compressed in parallel.
+     * The file is written next to the target and renamed over it, so a failed write leaves the
+     * previous file intact.
+     *
+     * @param assets   The assets to save.
+     * @param filename The file path where data will be saved.
+     * @throws IOException if an I/O error occurs.
+     */
+    static void write(List<Asset> assets, String filename) throws IOException {
+        List<Asset> sorted = new ArrayList<>(assets);
+        sorted.sort(Comparator.comparingInt(asset -> Integer.parseInt(asset.getAssetID())));
+
+        // Cut the sorted records into blocks of about BLOCK_SIZE bytes
+        List<byte[]> rawBlocks = new ArrayList<>();
+        List<int[]> blockInfo = new ArrayList<>(); // firstID, rowCount
+        ByteArrayOutputStream current = new ByteArrayOutputStream(BLOCK_SIZE + 256);
+        int firstID = 0;
+        int rows = 0;
+        for (Asset asset : sorted) {
+            String record = FileManager.formatAsset(asset);
+            if (record == null) continue;
+            if (rows == 0) firstID = Integer.parseInt(asset.getAssetID());
+            current.writeBytes((record + "\n").getBytes(StandardCharsets.UTF_8));
+            rows++;
+            if (current.size() >= BLOCK_SIZE) {
+                rawBlocks.add(current.toByteArray());
+                blockInfo.add(new int[]{firstID, rows});
+                current.reset();
+                rows = 0;
+            }
+        }
+        if (rows > 0) {
+            rawBlocks.add(current.toByteArray());
+            blockInfo.add(new int[]{firstID, rows});
+        }
+
+        List<byte[]> compressed = IntStream.range(0, rawBlocks.size()).parallel()
+                .mapToObj(i -> deflate(rawBlocks.get(i)))
+                .toList();
+
+        Path target = Path.of(filename).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).flip());
+
+            ByteBuffer footer = ByteBuffer.allocate(rawBlocks.size() * FOOTER_ENTRY_BYTES + TRAILER_BYTES);
+            for (int i = 0; i < compressed.size(); i++) {
+                long offset = out.position();
+                writeFully(out, ByteBuffer.wrap(compressed.get(i)));
+                footer.putInt(blockInfo.get(i)[0]).putLong(offset).putInt(compressed.get(i).length)
+                        .putInt(rawBlocks.get(i).length).putInt(blockInfo.get(i)[1]);
+            }
+            long footerOffset = out.position();
+            footer.putInt(compressed.size()).putLong(footerOffset).putInt(MAGIC);
+            writeFully(out, footer.flip());
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Checks whether a file is in the block-compressed format, by its leading and trailing magic number.
+     *
+     * @param filename The file to check.
+     * @return True if the file is a block-compressed asset file.
+     * @throws IOException if the file cannot be read.
+     */
+    static boolean isBlockCompressed(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            return size >= Integer.BYTES + TRAILER_BYTES
+                    && readFully(channel, 0, Integer.BYTES).getInt() == MAGIC
+                    && readFully(channel, size - Integer.BYTES, Integer.BYTES).getInt() == MAGIC;
+        }
+    }
+
+    /**
+     * Opens a block-compressed file and reads its footer index.
+     *
+     * @param filename The file to open.
+     * @return An open reader; close it when finished.
+     * @throws IOException if the file cannot be read or is not a block-compressed asset file.
+     */
+    static BlockCompressedAssetFile open(String filename) throws IOException {
+        FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < Integer.BYTES + TRAILER_BYTES) throw new IOException("Not a block-compressed asset file: " + filename);
+
+            ByteBuffer trailer = readFully(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            int blockCount = trailer.getInt();
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC || readFully(channel, 0, Integer.BYTES).getInt() != MAGIC) {
+                throw new IOException("Not a block-compressed asset file: " + filename);
+            }
+
+            ByteBuffer footer = readFully(channel, footerOffset, blockCount * FOOTER_ENTRY_BYTES);
+            List<Block> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(new Block(footer.getInt(), footer.getLong(), footer.getInt(), footer.getInt(), footer.getInt()));
+            }
+            return new BlockCompressedAssetFile(channel, blocks);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads every asset, decompressing blocks in parallel. Assets are returned in ID order.
+     *
+     * @return All assets in the file.
+     * @throws IOException if a block cannot be read or decompressed.
+     */
+    List<Asset> readAll() throws IOException {
+        try {
+            List<List<Asset>> perBlock = blocks.parallelStream().map(block -> {
+                try {
+                    return parseBlock(block);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toList();
+
+            List<Asset> assets = new ArrayList<>(blocks.stream().mapToInt(Block::rowCount).sum());
+            perBlock.forEach(assets::addAll);
+            return assets;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Iterates over the assets in ID order, decompressing one block at a time, so memory use is
+     * bounded by the block size rather than the file size.
+     *
+     * @return An iterator over all assets; it throws UncheckedIOException if a block cannot be read.
+     */
+    Iterator<Asset> iterator() {
+        return new Iterator<>() {
+            private int nextBlock;
+            private Iterator<Asset> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && nextBlock < blocks.size()) {
+                    try {
+                        current = parseBlock(blocks.get(nextBlock++)).iterator();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Asset next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Finds an asset by ID, decompressing only the block whose ID range can contain it.
+     *
+     * @param assetID The asset ID to look up.
+     * @return The matching asset, or null if not found.
+     * @throws IOException if the block cannot be read or decompressed.
+     */
+    Asset find(String assetID) throws IOException {
+        int id = Integer.parseInt(assetID);
+
+        // Binary search for the last block whose first ID is <= id
+        int low = 0;
+        int high = blocks.size() - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).firstID() <= id) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (candidate < 0) return null;
+
+        for (Asset asset : parseBlock(blocks.get(candidate))) {
+            if (Integer.parseInt(asset.getAssetID()) == id) return asset;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of compressed blocks in the file.
+     *
+     * @return The block count.
+     */
+    int getBlockCount() {
+        return blocks.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Reads, decompresses and parses one block
+    private List<Asset> parseBlock(Block block) throws IOException {
+        ByteBuffer compressed = readFully(channel, block.offset(), block.compressedLength());
+        byte[] raw = new byte[block.uncompressedLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int n = 0;
+            while (n < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, n, raw.length - n);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                n += inflated;
+            }
+            if (n != raw.length) throw new IOException("Truncated block at offset " + block.offset());
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block at offset " + block.offset(), e);
+        } finally {
+            inflater.end();
+        }
+
+        List<Asset> assets = new ArrayList<>(block.rowCount());
+        for (String line : new String(raw, StandardCharsets.UTF_8).split("\n")) {
+            Asset asset = FileManager.parseAsset(line);
+            if (asset != null) assets.add(asset);
+        }
+        return assets;
+    }
+
+    // Compresses one block with Deflate
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Reads an exact byte range using a positional read, which is safe from multiple threads
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at offset " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    // Writes an entire buffer to the channel
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+}
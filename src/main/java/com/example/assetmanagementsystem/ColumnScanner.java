@@ -0,0 +1,192 @@
+package com.example.assetmanagementsystem;
+
+/**
+ * ColumnScanner evaluates predicates and group-by counts over primitive asset columns
+ * (see AssetColumns). Predicates produce a selection bitmap with one bit per row, which
+ * can be combined with and() and then counted, expanded to row numbers, or used to
+ * restrict a group-by count.
+ *
+ * This class is the portable scalar implementation. create() returns VectorColumnScanner
+ * instead when the jdk.incubator.vector module is available to the application
+ * (e.g. started with --add-modules jdk.incubator.vector).
+ */
+class ColumnScanner {
+
+    /**
+     * Returns the fastest scanner supported by the running JVM.
+     *
+     * @return A SIMD scanner if the Vector API is available, otherwise a scalar scanner.
+     */
+    static ColumnScanner create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return new VectorColumnScanner();
+        }
+        return new ColumnScanner();
+    }
+
+    /**
+     * Selects the rows whose value equals the given value.
+     *
+     * @param column The column to scan.
+     * @param size   The number of rows in the column.
+     * @param value  The value to match.
+     * @return A selection bitmap with one bit per row.
+     */
+    long[] selectEquals(int[] column, int size, int value) {
+        long[] selection = new long[words(size)];
+        for (int i = 0; i < size; i++) {
+            if (column[i] == value) selection[i >>> 6] |= 1L << i;
+        }
+        return selection;
+    }
+
+    /**
+     * Selects the rows whose value equals the given value.
+     *
+     * @param column The column to scan.
+     * @param size   The number of rows in the column.
+     * @param value  The value to match.
+     * @return A selection bitmap with one bit per row.
+     */
+    long[] selectEquals(byte[] column, int size, byte value) {
+        long[] selection = new long[words(size)];
+        for (int i = 0; i < size; i++) {
+            if (column[i] == value) selection[i >>> 6] |= 1L << i;
+        }
+        return selection;
+    }
+
+    /**
+     * Selects the rows whose value lies in an inclusive range.
+     *
+     * @param column The column to scan.
+     * @param size   The number of rows in the column.
+     * @param from   The lowest matching value.
+     * @param to     The highest matching value.
+     * @return A selection bitmap with one bit per row.
+     */
+    long[] selectRange(int[] column, int size, int from, int to) {
+        long[] selection = new long[words(size)];
+        for (int i = 0; i < size; i++) {
+            if (column[i] >= from && column[i] <= to) selection[i >>> 6] |= 1L << i;
+        }
+        return selection;
+    }
+
+    /**
+     * Counts the rows whose value equals the given value, without building a bitmap.
+     *
+     * @param column The column to scan.
+     * @param size   The number of rows in the column.
+     * @param value  The value to match.
+     * @return The number of matching rows.
+     */
+    int countEquals(byte[] column, int size, byte value) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (column[i] == value) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the rows whose value lies in an inclusive range, without building a bitmap.
+     *
+     * @param column The column to scan.
+     * @param size   The number of rows in the column.
+     * @param from   The lowest matching value.
+     * @param to     The highest matching value.
+     * @return The number of matching rows.
+     */
+    int countRange(int[] column, int size, int from, int to) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (column[i] >= from && column[i] <= to) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Counts rows per code, e.g. assets per location. Negative codes are skipped.
+     *
+     * @param codes       The code column to group by.
+     * @param size        The number of rows in the column.
+     * @param cardinality The number of distinct codes (dictionary size).
+     * @param selection   Optional selection bitmap restricting the rows counted, or null for all rows.
+     * @return An array of counts indexed by code.
+     */
+    int[] groupCount(int[] codes, int size, int cardinality, long[] selection) {
+        int[] counts = new int[cardinality];
+        if (selection == null) {
+            for (int i = 0; i < size; i++) {
+                if (codes[i] >= 0) counts[codes[i]]++;
+            }
+        } else {
+            for (int w = 0; w < selection.length; w++) {
+                long word = selection[w];
+                while (word != 0) {
+                    int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                    if (codes[row] >= 0) counts[codes[row]]++;
+                    word &= word - 1;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Intersects two selection bitmaps in place.
+     *
+     * @param selection The bitmap to narrow; it is modified and returned.
+     * @param other     The bitmap to intersect with.
+     * @return The narrowed selection.
+     */
+    long[] and(long[] selection, long[] other) {
+        for (int w = 0; w < selection.length; w++) selection[w] &= other[w];
+        return selection;
+    }
+
+    /**
+     * Counts the rows in a selection bitmap.
+     *
+     * @param selection The bitmap to count.
+     * @return The number of selected rows.
+     */
+    int count(long[] selection) {
+        int count = 0;
+        for (long word : selection) count += Long.bitCount(word);
+        return count;
+    }
+
+    /**
+     * Expands a selection bitmap into ascending row numbers.
+     *
+     * @param selection The bitmap to expand.
+     * @return The selected row numbers.
+     */
+    int[] rows(long[] selection) {
+        int[] rows = new int[count(selection)];
+        int n = 0;
+        for (int w = 0; w < selection.length; w++) {
+            long word = selection[w];
+            while (word != 0) {
+                rows[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return rows;
+    }
+
+    // Number of 64-bit words needed to hold one bit per row
+    static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    // ORs the match bits for rows [row, row + lanes) into a bitmap. Lane counts need not divide 64
+    // (e.g. 384-bit vectors), so the bits may continue into the next word
+    static void orMask(long[] selection, int row, long bits, int lanes) {
+        int shift = row & 63;
+        selection[row >>> 6] |= bits << shift;
+        if (shift + lanes > 64) selection[(row >>> 6) + 1] |= bits >>> (64 - shift);
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.assetmanagementsystem;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * CompactAssetStore is a memory-saving list of assets. Instead of keeping one object with
+ * six to eight String fields per asset, it stores each attribute in a parallel array:
+ * the asset ID as an int, the active and type flags as bits, and low-cardinality fields
+ * (manufacturer, model, dates, location/version) as codes into shared dictionaries.
+ * Asset objects are materialized on demand when an element is read, so callers see an
+ * ordinary List of HardwareAsset and SoftwareAsset instances.
+ *
+ * Because elements are rebuilt on every read, two reads of the same row return equal but
+ * distinct objects. indexOf, contains and remove(Object) therefore match assets by ID, and the
+ * store cannot back anything that tracks assets by identity, such as AssetIndex, AssetSession
+ * or the GUI table (see AssetManager.keepsAssetIdentity).
+ */
+class CompactAssetStore extends AbstractList<Asset> implements RandomAccess {
+    // Flag bits stored per row
+    private static final byte ACTIVE = 1;
+    private static final byte SOFTWARE = 2;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Dictionaries shared by every row
+    private final AssetDictionary manufacturers = new AssetDictionary();
+    private final AssetDictionary models = new AssetDictionary();
+    private final AssetDictionary dates = new AssetDictionary();
+    private final AssetDictionary details = new AssetDictionary();
+
+    // Column arrays, one entry per row
+    private int[] ids;
+    private byte[] idWidths;          // Zero-padded width of the ID text (e.g. 3 for "007"), 0 if unpadded
+    private byte[] flags;
+    private String[] names;
+    private int[] manufacturerCodes;
+    private int[] modelCodes;
+    private int[] purchaseDateCodes;
+    private int[] detailCodes;        // Location for hardware, version for software
+    private int[] maintenanceDateCodes; // Maintenance date code for hardware, -1 for software
+    private String[] licenseKeys;     // License key for software, null for hardware
+
+    private int size;
+
+    /**
+     * Constructs an empty CompactAssetStore.
+     */
+    public CompactAssetStore() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public Asset get(int index) {
+        checkIndex(index);
+        String assetID = formatID(ids[index], idWidths[index]);
+        String manufacturer = manufacturers.decode(manufacturerCodes[index]);
+        String model = models.decode(modelCodes[index]);
+        String purchaseDate = dates.decode(purchaseDateCodes[index]);
+        boolean active = (flags[index] & ACTIVE) != 0;
+        String detail = details.decode(detailCodes[index]);
+
+        if ((flags[index] & SOFTWARE) != 0) {
+            return new SoftwareAsset(assetID, names[index], manufacturer, model, purchaseDate, active,
+                    detail, licenseKeys[index]);
+        }
+        return new HardwareAsset(assetID, names[index], manufacturer, model, purchaseDate, active,
+                detail, dates.decode(maintenanceDateCodes[index]));
+    }
+
+    @Override
+    public Asset set(int index, Asset asset) {
+        checkIndex(index);
+        checkStorable(asset);
+        Asset previous = get(index);
+        encode(index, asset);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Asset asset) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        checkStorable(asset); // Before shifting, so a rejected asset leaves no row behind
+        if (size == ids.length) allocate(size + (size >> 1) + 1);
+
+        int moved = size - index;
+        if (moved > 0) {
+            System.arraycopy(ids, index, ids, index + 1, moved);
+            System.arraycopy(idWidths, index, idWidths, index + 1, moved);
+            System.arraycopy(flags, index, flags, index + 1, moved);
+            System.arraycopy(names, index, names, index + 1, moved);
+            System.arraycopy(manufacturerCodes, index, manufacturerCodes, index + 1, moved);
+            System.arraycopy(modelCodes, index, modelCodes, index + 1, moved);
+            System.arraycopy(purchaseDateCodes, index, purchaseDateCodes, index + 1, moved);
+            System.arraycopy(detailCodes, index, detailCodes, index + 1, moved);
+            System.arraycopy(maintenanceDateCodes, index, maintenanceDateCodes, index + 1, moved);
+            System.arraycopy(licenseKeys, index, licenseKeys, index + 1, moved);
+        }
+        size++;
+        modCount++;
+        encode(index, asset);
+    }
+
+    @Override
+    public Asset remove(int index) {
+        checkIndex(index);
+        Asset removed = get(index);
+
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(ids, index + 1, ids, index, moved);
+            System.arraycopy(idWidths, index + 1, idWidths, index, moved);
+            System.arraycopy(flags, index + 1, flags, index, moved);
+            System.arraycopy(names, index + 1, names, index, moved);
+            System.arraycopy(manufacturerCodes, index + 1, manufacturerCodes, index, moved);
+            System.arraycopy(modelCodes, index + 1, modelCodes, index, moved);
+            System.arraycopy(purchaseDateCodes, index + 1, purchaseDateCodes, index, moved);
+            System.arraycopy(detailCodes, index + 1, detailCodes, index, moved);
+            System.arraycopy(maintenanceDateCodes, index + 1, maintenanceDateCodes, index, moved);
+            System.arraycopy(licenseKeys, index + 1, licenseKeys, index, moved);
+        }
+        size--;
+        // Release references so removed strings can be collected
+        names[size] = null;
+        licenseKeys[size] = null;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        size = 0;
+        manufacturers.clear();
+        models.clear();
+        dates.clear();
+        details.clear();
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds an asset by ID rather than by object identity, since rows are rebuilt on every read.
+     *
+     * @param o The asset to look for.
+     * @return The row index of the first asset with the same ID, or -1 if none.
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Asset asset)) return -1;
+        try {
+            int id = Integer.parseInt(asset.getAssetID());
+            for (int i = 0; i < size; i++) {
+                // IDs such as "7" and "007" are distinct assets; confirm the text matches
+                if (ids[i] == id && formatID(id, idWidths[i]).equals(asset.getAssetID())) return i;
+            }
+            return -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Removes the first asset with the same ID, since rows are rebuilt on every read.
+     *
+     * @param o The asset to remove.
+     * @return True if an asset was removed.
+     */
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Copies the scan-relevant columns into an AssetColumns snapshot without materializing rows.
+     *
+     * @return The column snapshot.
+     */
+    AssetColumns columns() {
+        // Convert each distinct date once rather than once per row
+        int[] dayByCode = new int[dates.size()];
+        for (int code = 0; code < dayByCode.length; code++) dayByCode[code] = AssetDates.toEpochDay(dates.decode(code));
+
+        byte[] active = new byte[size];
+        int[] locationCodes = new int[size];
+        int[] purchaseDays = new int[size];
+        for (int i = 0; i < size; i++) {
+            active[i] = (byte) (flags[i] & ACTIVE);
+            locationCodes[i] = (flags[i] & SOFTWARE) != 0 ? -1 : detailCodes[i];
+            purchaseDays[i] = dayByCode[purchaseDateCodes[i]];
+        }
+        return new AssetColumns(size, Arrays.copyOf(ids, size), active, Arrays.copyOf(manufacturerCodes, size),
+                locationCodes, purchaseDays, manufacturers, details);
+    }
+
+    // Rebuilds the ID text from its numeric value and zero-padded width
+    private static String formatID(int id, int width) {
+        return width == 0 ? Integer.toString(id) : String.format("%0" + width + "d", id);
+    }
+
+    // Returns the zero-padded width of an ID, rejecting IDs that formatID could not rebuild
+    private static int idWidth(String assetID) {
+        int id;
+        try {
+            id = Integer.parseInt(assetID);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Asset ID is not a plain number: " + assetID, e);
+        }
+        int width = Integer.toString(id).equals(assetID) ? 0 : assetID.length();
+        if (width > Byte.MAX_VALUE || !formatID(id, width).equals(assetID)) {
+            throw new IllegalArgumentException("Asset ID is not a plain number: " + assetID);
+        }
+        return width;
+    }
+
+    // Rejects an asset that encode could not store, before any column is changed
+    private static void checkStorable(Asset asset) {
+        idWidth(asset.getAssetID());
+        if (!(asset instanceof HardwareAsset) && !(asset instanceof SoftwareAsset)) {
+            throw new IllegalArgumentException("Unsupported asset type: " + asset.getClass().getSimpleName());
+        }
+    }
+
+    // Writes an asset's attributes into the column arrays at the given row; checkStorable must pass first
+    private void encode(int index, Asset asset) {
+        String assetID = asset.getAssetID();
+        int id = Integer.parseInt(assetID);
+        int width = idWidth(assetID);
+        ids[index] = id;
+        idWidths[index] = (byte) width;
+        names[index] = asset.getName();
+        manufacturerCodes[index] = manufacturers.encode(asset.getManufacturer());
+        modelCodes[index] = models.encode(asset.getModel());
+        purchaseDateCodes[index] = dates.encode(asset.getPurchaseDate());
+
+        byte flag = asset.isActive() ? ACTIVE : 0;
+        if (asset instanceof SoftwareAsset sa) {
+            flag |= SOFTWARE;
+            detailCodes[index] = details.encode(sa.getVersion());
+            maintenanceDateCodes[index] = -1;
+            licenseKeys[index] = sa.getLicenseKey();
+        } else {
+            HardwareAsset ha = (HardwareAsset) asset;
+            detailCodes[index] = details.encode(ha.getLocation());
+            maintenanceDateCodes[index] = dates.encode(ha.getMaintenanceDate());
+            licenseKeys[index] = null;
+        }
+        flags[index] = flag;
+    }
+
+    // Grows (or resets) every column array to the given capacity
+    private void allocate(int capacity) {
+        if (size == 0) {
+            ids = new int[capacity];
+            idWidths = new byte[capacity];
+            flags = new byte[capacity];
+            names = new String[capacity];
+            manufacturerCodes = new int[capacity];
+            modelCodes = new int[capacity];
+            purchaseDateCodes = new int[capacity];
+            detailCodes = new int[capacity];
+            maintenanceDateCodes = new int[capacity];
+            licenseKeys = new String[capacity];
+        } else {
+            ids = Arrays.copyOf(ids, capacity);
+            idWidths = Arrays.copyOf(idWidths, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            names = Arrays.copyOf(names, capacity);
+            manufacturerCodes = Arrays.copyOf(manufacturerCodes, capacity);
+            modelCodes = Arrays.copyOf(modelCodes, capacity);
+            purchaseDateCodes = Arrays.copyOf(purchaseDateCodes, capacity);
+            detailCodes = Arrays.copyOf(detailCodes, capacity);
+            maintenanceDateCodes = Arrays.copyOf(maintenanceDateCodes, capacity);
+            licenseKeys = Arrays.copyOf(licenseKeys, capacity);
+        }
+    }
+
+    // Validates that an index refers to an existing row
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.assetmanagementsystem;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Checksum;
 
 /**
  * FileManager handles reading and writing asset data to and from a file.
@@ -22,19 +28,43 @@ public class FileManager {
      * @throws IOException if an I/O error occurs.
      */
     public static void saveAssetsToFile(List<Asset> assets, String filename) throws IOException {
+        if (assets instanceof LazyAssetList lazy) {
+            // The lazy list may be mapped over the file we are about to truncate
+            lazy.detach();
+        }
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            for (Asset asset : assets) {
-                if (asset instanceof HardwareAsset ha) {
-                    writer.write("Hardware," + ha.getAssetID() + "," + ha.getName() + "," + ha.getManufacturer() + "," +
-                            ha.getModel() + "," + ha.getPurchaseDate() + "," + ha.isActive() + "," +
-                            ha.getLocation() + "," + ha.getMaintenanceDate());
-                } else if (asset instanceof SoftwareAsset sa) {
-                    writer.write("Software," + sa.getAssetID() + "," + sa.getName() + "," + sa.getManufacturer() + "," +
-                            sa.getModel() + "," + sa.getPurchaseDate() + "," + sa.isActive() + "," +
-                            sa.getVersion() + "," + sa.getLicenseKey());
-                }
-                writer.newLine(); // Write a newline after each asset
-            }
+            writeAssets(assets, writer);
+        }
+    }
+
+    /**
+     * Saves a list of Asset objects so that the file is replaced in a single step.
+     * The assets are written to a temporary file next to the target, which is then renamed over it;
+     * readers (including lazily mapped lists) see either the old or the new file, never a partial one.
+     *
+     * @param assets   The list of assets to be saved.
+     * @param filename The file path where data will be saved.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void saveAssetsAtomically(List<Asset> assets, String filename) throws IOException {
+        Path target = Path.of(filename).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+            writeAssets(assets, writer);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Writes each asset as one CSV line
+    private static void writeAssets(List<Asset> assets, BufferedWriter writer) throws IOException {
+        for (Asset asset : assets) {
+            String record = formatAsset(asset);
+            if (record != null) writer.write(record);
+            writer.newLine(); // Write a newline after each asset
         }
     }
 
@@ -47,34 +77,119 @@ public class FileManager {
      * @throws IOException if an I/O error occurs.
      */
     public static List<Asset> loadAssetsFromFile(String filename) throws IOException {
+        return loadAssetsFromFile(filename, null);
+    }
+
+    /**
+     * Loads a list of Asset objects from a file, updating a checksum with the file's bytes as they
+     * are read. Used to validate sidecar files (see AssetIndexFile) without a second read.
+     *
+     * @param filename The file path to read data from.
+     * @param checksum The checksum to update, or null.
+     * @return A list of loaded Asset objects.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static List<Asset> loadAssetsFromFile(String filename, Checksum checksum) throws IOException {
         List<Asset> assets = new ArrayList<>();
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+        InputStream in = new FileInputStream(filename);
+        if (checksum != null) in = new CheckedInputStream(in, checksum);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length < 9) continue; // Skip malformed lines
-
-                String type = parts[0];
-                String id = parts[1];
-                String name = parts[2];
-                String manufacturer = parts[3];
-                String model = parts[4];
-                String purchaseDate = parts[5];
-                boolean active = Boolean.parseBoolean(parts[6]);
-
-                if (type.equals("Hardware")) {
-                    String location = parts[7];
-                    String maintenanceDate = parts[8];
-                    assets.add(new HardwareAsset(id, name, manufacturer, model, purchaseDate, active, location, maintenanceDate));
-                } else if (type.equals("Software")) {
-                    String version = parts[7];
-                    String licenseKey = parts[8];
-                    assets.add(new SoftwareAsset(id, name, manufacturer, model, purchaseDate, active, version, licenseKey));
-                }
+                Asset asset = parseAsset(line);
+                if (asset != null) assets.add(asset); // Skip malformed lines
             }
         }
 
         return assets;
     }
+
+    /**
+     * Saves assets in the block-compressed format (see BlockCompressedAssetFile).
+     * Records are sorted by asset ID and Deflate-compressed in independent blocks.
+     *
+     * @param assets   The list of assets to be saved.
+     * @param filename The file path where data will be saved.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void saveAssetsCompressed(List<Asset> assets, String filename) throws IOException {
+        BlockCompressedAssetFile.write(assets, filename);
+    }
+
+    /**
+     * Loads every asset from a block-compressed file, decompressing blocks in parallel.
+     *
+     * @param filename The file path to read data from.
+     * @return The loaded assets, in ID order.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static List<Asset> loadAssetsCompressed(String filename) throws IOException {
+        try (BlockCompressedAssetFile file = BlockCompressedAssetFile.open(filename)) {
+            return file.readAll();
+        }
+    }
+
+    /**
+     * Looks up a single asset in a block-compressed file without reading the whole file.
+     *
+     * @param filename The file path to read data from.
+     * @param assetID  The asset ID to find.
+     * @return The matching asset, or null if not found.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static Asset findAssetCompressed(String filename, String assetID) throws IOException {
+        try (BlockCompressedAssetFile file = BlockCompressedAssetFile.open(filename)) {
+            return file.find(assetID);
+        }
+    }
+
+    /**
+     * Formats an asset as a single CSV record (without a line terminator).
+     *
+     * @param asset The asset to format.
+     * @return The CSV record, or null if the asset type is not supported.
+     */
+    static String formatAsset(Asset asset) {
+        if (asset instanceof HardwareAsset ha) {
+            return "Hardware," + ha.getAssetID() + "," + ha.getName() + "," + ha.getManufacturer() + "," +
+                    ha.getModel() + "," + ha.getPurchaseDate() + "," + ha.isActive() + "," +
+                    ha.getLocation() + "," + ha.getMaintenanceDate();
+        } else if (asset instanceof SoftwareAsset sa) {
+            return "Software," + sa.getAssetID() + "," + sa.getName() + "," + sa.getManufacturer() + "," +
+                    sa.getModel() + "," + sa.getPurchaseDate() + "," + sa.isActive() + "," +
+                    sa.getVersion() + "," + sa.getLicenseKey();
+        }
+        return null;
+    }
+
+    /**
+     * Parses a single CSV record into an asset.
+     *
+     * @param line The CSV record.
+     * @return The parsed asset, or null if the line is malformed or of an unknown type.
+     */
+    static Asset parseAsset(String line) {
+        String[] parts = line.split(",");
+        if (parts.length < 9) return null;
+
+        String type = parts[0];
+        String id = parts[1];
+        String name = parts[2];
+        String manufacturer = parts[3];
+        String model = parts[4];
+        String purchaseDate = parts[5];
+        boolean active = Boolean.parseBoolean(parts[6]);
+
+        if (type.equals("Hardware")) {
+            String location = parts[7];
+            String maintenanceDate = parts[8];
+            return new HardwareAsset(id, name, manufacturer, model, purchaseDate, active, location, maintenanceDate);
+        } else if (type.equals("Software")) {
+            String version = parts[7];
+            String licenseKey = parts[8];
+            return new SoftwareAsset(id, name, manufacturer, model, purchaseDate, active, version, licenseKey);
+        }
+        return null;
+    }
 }
@@ -45,6 +45,27 @@ class HardwareAsset extends Asset {
                 ", Maintenance Date: " + maintenanceDate;
     }
 
+    /**
+     * Returns a copy of this hardware asset with a different active status.
+     *
+     * @param active The new status
+     * @return A copy of the asset with the given status
+     */
+    @Override
+    public HardwareAsset withActive(boolean active) {
+        return new HardwareAsset(assetID, name, manufacturer, model, purchaseDate, active, location, maintenanceDate);
+    }
+
+    /**
+     * Returns a copy of this hardware asset at a different location.
+     *
+     * @param location The new physical location
+     * @return A copy of the asset at the given location
+     */
+    public HardwareAsset withLocation(String location) {
+        return new HardwareAsset(assetID, name, manufacturer, model, purchaseDate, isActive, location, maintenanceDate);
+    }
+
     /**
      * Gets the location of the hardware asset.
      *
@@ -0,0 +1,281 @@
+package com.example.assetmanagementsystem;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * LazyAssetList is a list of assets backed by a memory-mapped asset file. Opening the list
+ * only scans the file for row boundaries and records where each valid row starts; the full
+ * HardwareAsset or SoftwareAsset is parsed the first time a row is read (displayed, edited or
+ * matched) and is cached from then on. Rows that are never touched cost an offset and an
+ * empty cache slot.
+ *
+ * Added or replaced assets are held in memory like an ordinary list. Before the backing file
+ * is overwritten, call detach() so every remaining row is decoded and the mapping is unmapped;
+ * FileManager.saveAssetsToFile does this automatically. A list that is no longer needed should
+ * be closed, which unmaps the file without decoding the remaining rows.
+ *
+ * The list suits single passes that touch a few fields of each row, such as AssetDiff.diffFiles
+ * visiting a file in ID order. It does not back the GUI's inventory, which needs every row
+ * decoded at load time (see AssetSession.load).
+ */
+class LazyAssetList extends AbstractList<Asset> implements RandomAccess, AutoCloseable {
+    // Marks a row that exists only in memory
+    private static final long IN_MEMORY = -1;
+
+    // Field count a row needs to be parsed by FileManager.parseAsset
+    private static final int FIELD_COUNT = 9;
+
+    private static final byte[] HARDWARE = "Hardware,".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SOFTWARE = "Software,".getBytes(StandardCharsets.US_ASCII);
+
+    // Mapped file contents and the arena that owns the mapping, or null once detached or closed
+    private MemorySegment file;
+    private Arena arena;
+
+    // Start and end (exclusive, line terminator stripped) of each row in the file
+    private long[] rowStarts;
+    private long[] rowEnds;
+
+    // Decoded assets, filled in on first access
+    private Asset[] decoded;
+
+    private int size;
+
+    private LazyAssetList(Arena arena, MemorySegment file, long[] rowStarts, long[] rowEnds, int size) {
+        this.arena = arena;
+        this.file = file;
+        this.rowStarts = rowStarts;
+        this.rowEnds = rowEnds;
+        this.decoded = new Asset[rowStarts.length];
+        this.size = size;
+    }
+
+    /**
+     * Maps an asset file and indexes its row boundaries. Malformed rows are skipped,
+     * matching FileManager.loadAssetsFromFile.
+     *
+     * @param filename The file to open.
+     * @return A lazily decoded list of the file's assets.
+     * @throws IOException if the file cannot be read.
+     */
+    static LazyAssetList open(String filename) throws IOException {
+        // Shared so rows can be decoded from any thread; closing the arena unmaps the file at once,
+        // which Windows requires before the file can be replaced
+        Arena arena = Arena.ofShared();
+        MemorySegment file;
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            file = channel.size() == 0 ? MemorySegment.NULL
+                    : channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+
+        long length = file.byteSize();
+        long[] starts = new long[1024];
+        long[] ends = new long[1024];
+        int rows = 0;
+
+        long start = 0;
+        while (start < length) {
+            // Find the end of the line while counting its non-trailing fields the way String.split does
+            long pos = start;
+            int commas = 0;
+            int fields = 0;
+            byte b = 0;
+            while (pos < length && (b = file.get(ValueLayout.JAVA_BYTE, pos)) != '\n') {
+                if (b == ',') commas++;
+                else if (b != '\r') fields = commas + 1;
+                pos++;
+            }
+            long end = pos > start && file.get(ValueLayout.JAVA_BYTE, pos - 1) == '\r' ? pos - 1 : pos;
+
+            if (fields >= FIELD_COUNT && (startsWith(file, start, HARDWARE) || startsWith(file, start, SOFTWARE))) {
+                if (rows == starts.length) {
+                    starts = Arrays.copyOf(starts, rows * 2);
+                    ends = Arrays.copyOf(ends, rows * 2);
+                }
+                starts[rows] = start;
+                ends[rows] = end;
+                rows++;
+            }
+            start = pos + 1;
+        }
+        return new LazyAssetList(arena, file, starts, ends, rows);
+    }
+
+    @Override
+    public Asset get(int index) {
+        checkIndex(index);
+        Asset asset = decoded[index];
+        if (asset == null) {
+            checkMapped();
+            asset = FileManager.parseAsset(readRow(index));
+            decoded[index] = asset;
+        }
+        return asset;
+    }
+
+    /**
+     * Returns the asset ID of a row without decoding the rest of the row.
+     *
+     * @param index The row index.
+     * @return The asset ID.
+     */
+    String getAssetID(int index) {
+        checkIndex(index);
+        if (decoded[index] != null) return decoded[index].getAssetID();
+        checkMapped();
+
+        // The ID is the second field; the type prefix is always nine bytes long
+        long from = rowStarts[index] + HARDWARE.length;
+        long to = from;
+        while (file.get(ValueLayout.JAVA_BYTE, to) != ',') to++;
+        return readString(from, to);
+    }
+
+    /**
+     * Returns the CSV record of a row without decoding or caching it, for single passes over
+     * files too large to keep decoded.
+     *
+     * @param index The row index.
+     * @return The row as FileManager.formatAsset would write it.
+     */
+    String getRecord(int index) {
+        checkIndex(index);
+        if (decoded[index] != null) return FileManager.formatAsset(decoded[index]);
+        checkMapped();
+        return readRow(index);
+    }
+
+    /**
+     * Returns true if the row has already been decoded into an Asset object.
+     *
+     * @param index The row index.
+     * @return Whether the row is materialized.
+     */
+    boolean isDecoded(int index) {
+        checkIndex(index);
+        return decoded[index] != null;
+    }
+
+    @Override
+    public Asset set(int index, Asset asset) {
+        Asset previous = get(index);
+        decoded[index] = asset;
+        rowStarts[index] = IN_MEMORY;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Asset asset) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if (size == decoded.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            rowStarts = Arrays.copyOf(rowStarts, capacity);
+            rowEnds = Arrays.copyOf(rowEnds, capacity);
+            decoded = Arrays.copyOf(decoded, capacity);
+        }
+        int moved = size - index;
+        System.arraycopy(rowStarts, index, rowStarts, index + 1, moved);
+        System.arraycopy(rowEnds, index, rowEnds, index + 1, moved);
+        System.arraycopy(decoded, index, decoded, index + 1, moved);
+        rowStarts[index] = IN_MEMORY;
+        decoded[index] = asset;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Asset remove(int index) {
+        Asset removed = get(index);
+        int moved = size - index - 1;
+        System.arraycopy(rowStarts, index + 1, rowStarts, index, moved);
+        System.arraycopy(rowEnds, index + 1, rowEnds, index, moved);
+        System.arraycopy(decoded, index + 1, decoded, index, moved);
+        decoded[--size] = null;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        Arrays.fill(decoded, 0, size, null);
+        size = 0;
+        unmap();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes every row that has not been read yet and releases the file mapping,
+     * so the backing file can safely be rewritten.
+     */
+    void detach() {
+        if (file == null) return;
+        for (int i = 0; i < size; i++) get(i);
+        Arrays.fill(rowStarts, IN_MEMORY);
+        unmap();
+    }
+
+    /**
+     * Unmaps the backing file without decoding the remaining rows. Rows that were already read
+     * stay available; reading any other row afterwards fails.
+     */
+    @Override
+    public void close() {
+        unmap();
+    }
+
+    // Releases the file mapping
+    private void unmap() {
+        file = null;
+        if (arena != null) arena.close();
+        arena = null;
+    }
+
+    // Fails if a row must be read from a file that has been unmapped
+    private void checkMapped() {
+        if (file == null) throw new IllegalStateException("Asset file is no longer mapped");
+    }
+
+    // Reads the text of a row from the mapped file
+    private String readRow(int index) {
+        return readString(rowStarts[index], rowEnds[index]);
+    }
+
+    // Decodes a UTF-8 byte range of the mapped file
+    private String readString(long from, long to) {
+        byte[] bytes = new byte[(int) (to - from)];
+        MemorySegment.copy(file, ValueLayout.JAVA_BYTE, from, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Checks whether the bytes at an offset match a prefix
+    private static boolean startsWith(MemorySegment file, long offset, byte[] prefix) {
+        if (offset + prefix.length > file.byteSize()) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (file.get(ValueLayout.JAVA_BYTE, offset + i) != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    // Validates that an index refers to an existing row
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.assetmanagementsystem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * MaintenanceScheduler tracks when active hardware assets are due for maintenance. It listens to
+ * an AssetChangeFeed and keeps each asset in a tree ordered by its parsed maintenance date, so
+ * edits and deletes reschedule or drop an asset in O(log n), and the next assets due are read
+ * from the front of the tree without scanning or parsing any other records.
+ *
+ * An asset is reported once when its maintenance date is reached (or at the first check, if the
+ * date has already passed); changing its maintenance date schedules it again. Retired assets and
+ * assets whose maintenance date is not a valid date are not tracked. The number of overdue
+ * assets is kept as a running count, advanced past the assets that became overdue since the
+ * previous query.
+ */
+class MaintenanceScheduler implements AssetChangeFeed.Listener, AutoCloseable {
+
+    /**
+     * A scheduled maintenance.
+     *
+     * @param dueDate The asset's maintenance date.
+     * @param asset   The asset.
+     */
+    record Entry(LocalDate dueDate, HardwareAsset asset) {
+        /**
+         * Returns whether the maintenance date has passed.
+         *
+         * @param today The current date.
+         * @return True if the asset was due before today.
+         */
+        boolean isOverdue(LocalDate today) {
+            return dueDate.isBefore(today);
+        }
+    }
+
+    // Earliest date first; the asset ID breaks ties so every asset has its own slot. An entry
+    // without an asset sorts before every asset due the same day, which makes it a range bound
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::dueDate)
+            .thenComparing(Entry::asset, Comparator.nullsFirst(Comparator.comparing(Asset::getAssetID)));
+
+    private final Consumer<List<Entry>> onDue;
+
+    // State guarded by this
+    private final TreeSet<Entry> schedule = new TreeSet<>(ORDER);
+    private final TreeSet<Entry> pending = new TreeSet<>(ORDER); // Not yet reported
+    private final Map<String, Entry> byID = new HashMap<>();
+
+    // Number of scheduled assets due before countedDay, or no count yet if countedDay is null
+    private LocalDate countedDay;
+    private int overdue;
+
+    private ScheduledExecutorService timer;
+
+    /**
+     * Constructs a scheduler with nothing scheduled; subscribe it to a feed to track assets.
+     *
+     * @param onDue Receives the assets that became due at each check, earliest first.
+     *              Called on the checking thread.
+     */
+    public MaintenanceScheduler(Consumer<List<Entry>> onDue) {
+        this.onDue = onDue;
+    }
+
+    /**
+     * Checks for due assets in the background until the scheduler is closed, starting now.
+     *
+     * @param intervalMillis Time between checks.
+     */
+    public synchronized void start(long intervalMillis) {
+        if (timer != null) return;
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "maintenance-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(() -> checkDue(LocalDate.now()), 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reports every asset that is due on or before a date and has not been reported yet.
+     *
+     * @param today The current date.
+     * @return The newly due assets, earliest first.
+     */
+    public List<Entry> checkDue(LocalDate today) {
+        List<Entry> due = new ArrayList<>();
+        synchronized (this) {
+            while (!pending.isEmpty() && !pending.first().dueDate().isAfter(today)) {
+                due.add(pending.pollFirst());
+            }
+        }
+        if (!due.isEmpty()) onDue.accept(due);
+        return due;
+    }
+
+    /**
+     * Returns the assets with the earliest maintenance dates, including overdue ones.
+     *
+     * @param count Maximum number of assets to return.
+     * @return Up to count scheduled maintenances, earliest first.
+     */
+    public synchronized List<Entry> nextDue(int count) {
+        List<Entry> next = new ArrayList<>(Math.min(count, schedule.size()));
+        Iterator<Entry> entries = schedule.iterator();
+        while (next.size() < count && entries.hasNext()) next.add(entries.next());
+        return next;
+    }
+
+    /**
+     * Returns the number of assets whose maintenance date has passed.
+     *
+     * @param today The current date.
+     * @return The number of overdue assets.
+     */
+    public synchronized int overdueCount(LocalDate today) {
+        if (countedDay == null || today.isBefore(countedDay)) {
+            overdue = schedule.headSet(startOf(today)).size();
+        } else {
+            overdue += schedule.subSet(startOf(countedDay), startOf(today)).size();
+        }
+        countedDay = today;
+        return overdue;
+    }
+
+    /**
+     * Returns the number of tracked assets.
+     *
+     * @return The number of scheduled maintenances.
+     */
+    public synchronized int size() {
+        return schedule.size();
+    }
+
+    /**
+     * Reschedules the asset affected by a change.
+     *
+     * @param sequence The change's feed sequence.
+     * @param change   The change.
+     */
+    @Override
+    public synchronized void onChange(long sequence, AssetChange change) {
+        // Deletes, and changes parsed from a journal (which have no before image), are matched by ID
+        // alone; other edits only replace the asset they were made to
+        Entry existing = byID.get(change.assetID());
+        boolean reported = false;
+        if (existing != null && (change.after() == null || change.before() == null
+                || existing.asset() == change.before())) {
+            byID.remove(change.assetID());
+            unschedule(existing);
+            reported = !pending.remove(existing);
+        } else {
+            existing = null;
+        }
+
+        if (!(change.after() instanceof HardwareAsset asset) || !asset.isActive()) return;
+        LocalDate dueDate = AssetDates.parse(asset.getMaintenanceDate());
+        if (dueDate == null) return;
+
+        Entry entry = new Entry(dueDate, asset);
+        Entry replaced = byID.put(asset.getAssetID(), entry);
+        if (replaced != null) {
+            // Duplicate ID: only the latest asset is tracked
+            unschedule(replaced);
+            pending.remove(replaced);
+        }
+        schedule.add(entry);
+        if (countedDay != null && entry.isOverdue(countedDay)) overdue++;
+        // An edit that keeps the maintenance date is not reported again
+        if (!reported || !existing.dueDate().equals(dueDate)) pending.add(entry);
+    }
+
+    // Removes an entry from the schedule, keeping the overdue count in step
+    private void unschedule(Entry entry) {
+        if (schedule.remove(entry) && countedDay != null && entry.isOverdue(countedDay)) overdue--;
+    }
+
+    // Bound that sorts before every entry due on or after a date
+    private static Entry startOf(LocalDate date) {
+        return new Entry(date, null);
+    }
+
+    /**
+     * Stops background checks.
+     */
+    @Override
+    public synchronized void close() {
+        if (timer != null) timer.shutdownNow();
+        timer = null;
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.assetmanagementsystem;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * OffHeapAssetStore keeps the asset inventory outside the Java heap as a struct-of-arrays table.
+ * Every attribute is a column in its own native MemorySegment: IDs, flags, dictionary codes for
+ * manufacturer/model/location-or-version, epoch-day dates, and offsets into a string arena that
+ * holds the free-text fields (name, license key, and any date that is not in canonical form).
+ * Only the small dictionaries live on the heap, so the garbage collector never scans the rows.
+ *
+ * Like CompactAssetStore, rows are materialized into Asset objects when read, so indexOf,
+ * contains and remove(Object) match assets by ID and the store cannot back identity-based
+ * structures such as AssetIndex or AssetSession. Segments are allocated from automatic
+ * arenas and are released by the garbage collector once the store (or a replaced column)
+ * becomes unreachable.
+ */
+class OffHeapAssetStore extends AbstractList<Asset> implements RandomAccess {
+    // Flag bits stored per row
+    private static final byte ACTIVE = 1;
+    private static final byte SOFTWARE = 2;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long DEFAULT_ARENA_BYTES = 64 * 1024;
+
+    // On-heap dictionaries for low-cardinality columns
+    private final AssetDictionary manufacturers = new AssetDictionary();
+    private final AssetDictionary models = new AssetDictionary();
+    private final AssetDictionary details = new AssetDictionary();
+
+    // Off-heap columns, one element per row
+    private final Column ids = new Column(Integer.BYTES);
+    private final Column idWidths = new Column(Byte.BYTES);
+    private final Column flags = new Column(Byte.BYTES);
+    private final Column manufacturerCodes = new Column(Integer.BYTES);
+    private final Column modelCodes = new Column(Integer.BYTES);
+    private final Column detailCodes = new Column(Integer.BYTES);
+    private final Column purchaseDays = new Column(Integer.BYTES);
+    private final Column maintenanceDays = new Column(Integer.BYTES);
+    private final Column stringOffsets = new Column(Long.BYTES);
+    private final Column stringLengths = new Column(Integer.BYTES);
+    private final Column[] allColumns = {ids, idWidths, flags, manufacturerCodes, modelCodes, detailCodes,
+            purchaseDays, maintenanceDays, stringOffsets, stringLengths};
+
+    // Append-only arena of length-prefixed UTF-8 strings; replaced rows leave garbage behind
+    private MemorySegment strings;
+    private long stringsUsed;
+    private long stringsGarbage;
+
+    private int size;
+    private int capacity;
+
+    /**
+     * Constructs an empty OffHeapAssetStore.
+     */
+    public OffHeapAssetStore() {
+        resize(DEFAULT_CAPACITY);
+        strings = Arena.ofAuto().allocate(DEFAULT_ARENA_BYTES);
+    }
+
+    @Override
+    public Asset get(int index) {
+        checkIndex(index);
+        int id = ids.getInt(index);
+        int width = idWidths.getByte(index);
+        String assetID = width == 0 ? Integer.toString(id) : String.format("%0" + width + "d", id);
+        byte flag = flags.getByte(index);
+        boolean active = (flag & ACTIVE) != 0;
+        String manufacturer = manufacturers.decode(manufacturerCodes.getInt(index));
+        String model = models.decode(modelCodes.getInt(index));
+        String detail = details.decode(detailCodes.getInt(index));
+
+        // Free-text fields are read back in the order encode() wrote them
+        long[] cursor = {stringOffsets.getLong(index)};
+        String name = readString(cursor);
+        int purchaseDay = purchaseDays.getInt(index);
+
+        if ((flag & SOFTWARE) != 0) {
+            String licenseKey = readString(cursor);
+            String purchaseDate = purchaseDay == AssetDates.UNKNOWN ? readString(cursor) : AssetDates.format(purchaseDay);
+            return new SoftwareAsset(assetID, name, manufacturer, model, purchaseDate, active, detail, licenseKey);
+        }
+        String purchaseDate = purchaseDay == AssetDates.UNKNOWN ? readString(cursor) : AssetDates.format(purchaseDay);
+        int maintenanceDay = maintenanceDays.getInt(index);
+        String maintenanceDate = maintenanceDay == AssetDates.UNKNOWN ? readString(cursor) : AssetDates.format(maintenanceDay);
+        return new HardwareAsset(assetID, name, manufacturer, model, purchaseDate, active, detail, maintenanceDate);
+    }
+
+    @Override
+    public Asset set(int index, Asset asset) {
+        checkIndex(index);
+        checkStorable(asset);
+        Asset previous = get(index);
+        stringsGarbage += stringLengths.getInt(index);
+        encode(index, asset);
+        compactStringsIfNeeded();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Asset asset) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        checkStorable(asset); // Before shifting, so a rejected asset leaves no row behind
+        if (size == capacity) resize(capacity * 2);
+
+        for (Column column : allColumns) column.shift(index, index + 1, size - index);
+        size++;
+        modCount++;
+        encode(index, asset);
+    }
+
+    @Override
+    public Asset remove(int index) {
+        checkIndex(index);
+        Asset removed = get(index);
+        stringsGarbage += stringLengths.getInt(index);
+
+        for (Column column : allColumns) column.shift(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        compactStringsIfNeeded();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        size = 0;
+        manufacturers.clear();
+        models.clear();
+        details.clear();
+        resize(DEFAULT_CAPACITY);
+        strings = Arena.ofAuto().allocate(DEFAULT_ARENA_BYTES);
+        stringsUsed = 0;
+        stringsGarbage = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds an asset by ID rather than by object identity, since rows are rebuilt on every read.
+     *
+     * @param o The asset to look for.
+     * @return The row index of the first asset with the same ID, or -1 if none.
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Asset asset)) return -1;
+        try {
+            int id = Integer.parseInt(asset.getAssetID());
+            for (int i = 0; i < size; i++) {
+                if (ids.getInt(i) == id && get(i).getAssetID().equals(asset.getAssetID())) return i;
+            }
+            return -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Removes the first asset with the same ID, since rows are rebuilt on every read.
+     *
+     * @param o The asset to remove.
+     * @return True if an asset was removed.
+     */
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Returns the number of bytes of native memory currently reserved by the table.
+     *
+     * @return Off-heap bytes held by the columns and the string arena.
+     */
+    public long offHeapBytes() {
+        long total = strings.byteSize();
+        for (Column column : allColumns) total += column.segment.byteSize();
+        return total;
+    }
+
+    /**
+     * Copies the scan-relevant columns into an AssetColumns snapshot without materializing rows.
+     *
+     * @return The column snapshot.
+     */
+    AssetColumns columns() {
+        byte[] flagValues = flags.toByteArray(size);
+        int[] detailValues = detailCodes.toIntArray(size);
+        byte[] active = new byte[size];
+        int[] locationCodes = new int[size];
+        for (int i = 0; i < size; i++) {
+            active[i] = (byte) (flagValues[i] & ACTIVE);
+            locationCodes[i] = (flagValues[i] & SOFTWARE) != 0 ? -1 : detailValues[i];
+        }
+        return new AssetColumns(size, ids.toIntArray(size), active, manufacturerCodes.toIntArray(size),
+                locationCodes, purchaseDays.toIntArray(size), manufacturers, details);
+    }
+
+    // Returns the zero-padded width of an ID, rejecting IDs that get could not rebuild
+    private static int idWidth(String assetID) {
+        int id;
+        try {
+            id = Integer.parseInt(assetID);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Asset ID is not a plain number: " + assetID, e);
+        }
+        int width = Integer.toString(id).equals(assetID) ? 0 : assetID.length();
+        if (width > Byte.MAX_VALUE || (width > 0 && !String.format("%0" + width + "d", id).equals(assetID))) {
+            throw new IllegalArgumentException("Asset ID is not a plain number: " + assetID);
+        }
+        return width;
+    }
+
+    // Rejects an asset that encode could not store, before any column is changed
+    private static void checkStorable(Asset asset) {
+        idWidth(asset.getAssetID());
+        if (!(asset instanceof HardwareAsset) && !(asset instanceof SoftwareAsset)) {
+            throw new IllegalArgumentException("Unsupported asset type: " + asset.getClass().getSimpleName());
+        }
+    }
+
+    // Writes an asset's attributes into the columns at the given row; checkStorable must pass first
+    private void encode(int index, Asset asset) {
+        String assetID = asset.getAssetID();
+        int id = Integer.parseInt(assetID);
+        int width = idWidth(assetID);
+        ids.setInt(index, id);
+        idWidths.setByte(index, (byte) width);
+        manufacturerCodes.setInt(index, manufacturers.encode(asset.getManufacturer()));
+        modelCodes.setInt(index, models.encode(asset.getModel()));
+
+        int purchaseDay = AssetDates.toEpochDay(asset.getPurchaseDate());
+        purchaseDays.setInt(index, purchaseDay);
+
+        long start = stringsUsed;
+        writeString(asset.getName());
+        byte flag = asset.isActive() ? ACTIVE : 0;
+        if (asset instanceof SoftwareAsset sa) {
+            flag |= SOFTWARE;
+            detailCodes.setInt(index, details.encode(sa.getVersion()));
+            maintenanceDays.setInt(index, AssetDates.UNKNOWN);
+            writeString(sa.getLicenseKey());
+            if (purchaseDay == AssetDates.UNKNOWN) writeString(asset.getPurchaseDate());
+        } else {
+            HardwareAsset ha = (HardwareAsset) asset;
+            detailCodes.setInt(index, details.encode(ha.getLocation()));
+            int maintenanceDay = AssetDates.toEpochDay(ha.getMaintenanceDate());
+            maintenanceDays.setInt(index, maintenanceDay);
+            if (purchaseDay == AssetDates.UNKNOWN) writeString(asset.getPurchaseDate());
+            if (maintenanceDay == AssetDates.UNKNOWN) writeString(ha.getMaintenanceDate());
+        }
+        flags.setByte(index, flag);
+        stringOffsets.setLong(index, start);
+        stringLengths.setInt(index, (int) (stringsUsed - start));
+    }
+
+    // Appends a length-prefixed UTF-8 string to the arena, growing it if needed
+    private void writeString(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        long needed = stringsUsed + Integer.BYTES + bytes.length;
+        if (needed > strings.byteSize()) {
+            MemorySegment grown = Arena.ofAuto().allocate(Math.max(needed, strings.byteSize() * 2));
+            MemorySegment.copy(strings, 0, grown, 0, stringsUsed);
+            strings = grown;
+        }
+        strings.set(ValueLayout.JAVA_INT_UNALIGNED, stringsUsed, bytes.length);
+        MemorySegment.copy(bytes, 0, strings, ValueLayout.JAVA_BYTE, stringsUsed + Integer.BYTES, bytes.length);
+        stringsUsed = needed;
+    }
+
+    // Reads the string at cursor[0] from the arena and advances the cursor past it
+    private String readString(long[] cursor) {
+        int length = strings.get(ValueLayout.JAVA_INT_UNALIGNED, cursor[0]);
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(strings, ValueLayout.JAVA_BYTE, cursor[0] + Integer.BYTES, bytes, 0, length);
+        cursor[0] += Integer.BYTES + length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Rewrites the string arena without garbage once more than half of it is unused
+    private void compactStringsIfNeeded() {
+        if (stringsGarbage <= stringsUsed / 2) return;
+
+        MemorySegment compacted = Arena.ofAuto().allocate(Math.max(DEFAULT_ARENA_BYTES, stringsUsed - stringsGarbage));
+        long used = 0;
+        for (int i = 0; i < size; i++) {
+            int length = stringLengths.getInt(i);
+            MemorySegment.copy(strings, stringOffsets.getLong(i), compacted, used, length);
+            stringOffsets.setLong(i, used);
+            used += length;
+        }
+        strings = compacted;
+        stringsUsed = used;
+        stringsGarbage = 0;
+    }
+
+    // Grows (or resets) every column to the given row capacity
+    private void resize(int newCapacity) {
+        for (Column column : allColumns) column.resize(newCapacity, size);
+        capacity = newCapacity;
+    }
+
+    // Validates that an index refers to an existing row
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    // A single fixed-width column stored in a native memory segment
+    private static class Column {
+        private final long width;
+        private MemorySegment segment = MemorySegment.NULL;
+
+        Column(long width) {
+            this.width = width;
+        }
+
+        // Replaces the segment with one of the given capacity, keeping the first rows
+        void resize(int capacity, int rows) {
+            MemorySegment grown = Arena.ofAuto().allocate(width * capacity, width);
+            if (rows > 0) MemorySegment.copy(segment, 0, grown, 0, width * rows);
+            segment = grown;
+        }
+
+        // Moves a run of rows within the column (overlapping ranges are handled by copy)
+        void shift(int from, int to, int count) {
+            if (count > 0) MemorySegment.copy(segment, from * width, segment, to * width, count * width);
+        }
+
+        // Copies the first rows of the column onto the heap
+        int[] toIntArray(int rows) {
+            return segment.asSlice(0, width * rows).toArray(ValueLayout.JAVA_INT);
+        }
+
+        byte[] toByteArray(int rows) {
+            return segment.asSlice(0, width * rows).toArray(ValueLayout.JAVA_BYTE);
+        }
+
+        int getInt(int index) {
+            return segment.getAtIndex(ValueLayout.JAVA_INT, index);
+        }
+
+        void setInt(int index, int value) {
+            segment.setAtIndex(ValueLayout.JAVA_INT, index, value);
+        }
+
+        long getLong(int index) {
+            return segment.getAtIndex(ValueLayout.JAVA_LONG, index);
+        }
+
+        void setLong(int index, long value) {
+            segment.setAtIndex(ValueLayout.JAVA_LONG, index, value);
+        }
+
+        byte getByte(int index) {
+            return segment.get(ValueLayout.JAVA_BYTE, index);
+        }
+
+        void setByte(int index, byte value) {
+            segment.set(ValueLayout.JAVA_BYTE, index, value);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.assetmanagementsystem;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * ReplicationJournal ships the primary's change feed to read-only replicas (see AssetReplica)
+ * through a shared file next to the snapshot, e.g. "SavedAssets.txt.journal". The file starts
+ * with a header line, followed by one line per change in feed order:
+ *
+ *   JOURNAL,streamID,baseSequence
+ *   sequence,timestampMillis,TYPE,asset record
+ *
+ * The stream ID is chosen at random each time a primary starts, so replicas can tell a restarted
+ * primary from one that is still running. The base sequence is the feed position covered by the
+ * snapshot file; every change after it is in the journal. Entries are upserts or deletes by asset
+ * ID, so replaying them over a snapshot that is newer than the base is harmless.
+ *
+ * Publishing a change only queues its entry; a background appender thread writes everything
+ * queued since its last run and flushes once, so a bulk update costs one flush rather than one
+ * per change, and the publishing (JavaFX) thread never waits for the disk. Write failures are
+ * reported to an error handler instead of being thrown back through the change feed. Entries
+ * lost to a failed write show up to replicas as a sequence gap, which makes them reload the
+ * snapshot.
+ *
+ * After a snapshot is saved, checkpoint drops the entries it covers by atomically replacing the
+ * journal, which keeps the file (and replica catch-up time) proportional to the unsaved tail.
+ * Entries from the last RETENTION_MILLIS are kept even if covered, so replicas that poll
+ * regularly can continue from the journal instead of reloading the snapshot.
+ */
+class ReplicationJournal implements AssetChangeFeed.Listener, AutoCloseable {
+    static final String HEADER = "JOURNAL";
+
+    // How long covered entries stay in the journal after a checkpoint
+    static final long RETENTION_MILLIS = 10_000;
+
+    private final Path path;
+    private final long streamID;
+    private final Consumer<IOException> onError;
+
+    // Writes queued entries off the publishing thread
+    private final ExecutorService appender;
+
+    // Entries published but not yet written, and whether an append is scheduled; guarded by queued
+    private final List<String> queued = new ArrayList<>();
+    private boolean appendScheduled;
+
+    // State guarded by this
+    private BufferedWriter writer;
+    private long baseSequence;
+
+    /**
+     * Starts a new journal stream, replacing any journal left by a previous primary.
+     *
+     * @param journalFile  The journal file to write.
+     * @param baseSequence The feed sequence already reflected in the snapshot file.
+     * @param onError      Called on the appender thread when queued entries cannot be written.
+     * @throws IOException if the journal cannot be created.
+     */
+    public ReplicationJournal(String journalFile, long baseSequence, Consumer<IOException> onError) throws IOException {
+        this.path = Path.of(journalFile);
+        this.streamID = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        this.baseSequence = baseSequence;
+        this.onError = onError;
+        rewrite(baseSequence, List.of());
+        writer = Files.newBufferedWriter(path, StandardOpenOption.APPEND);
+        appender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replication-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the journal file that accompanies a snapshot file.
+     *
+     * @param snapshotFile The snapshot file, e.g. "SavedAssets.txt".
+     * @return The journal file name.
+     */
+    static String journalFileFor(String snapshotFile) {
+        return snapshotFile + ".journal";
+    }
+
+    /**
+     * Queues a change for the appender thread, which writes and flushes it shortly after.
+     *
+     * @param sequence The change's feed sequence.
+     * @param change   The change.
+     */
+    @Override
+    public void onChange(long sequence, AssetChange change) {
+        String entry = sequence + "," + System.currentTimeMillis() + "," + change.toRecord();
+        synchronized (queued) {
+            queued.add(entry);
+            if (appendScheduled) return;
+            appendScheduled = true;
+        }
+        try {
+            appender.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            // Closed; later changes are not journaled
+        }
+    }
+
+    /**
+     * Writes every queued entry to the journal and flushes it, so replicas see them on their next
+     * poll. Runs on the appender thread after changes are published; call it directly to make the
+     * changes published so far visible immediately.
+     */
+    public synchronized void flush() {
+        List<String> entries;
+        synchronized (queued) {
+            entries = new ArrayList<>(queued);
+            queued.clear();
+            appendScheduled = false;
+        }
+        if (writer == null || entries.isEmpty()) return; // Closed, or written by an earlier flush
+        try {
+            for (String entry : entries) {
+                writer.write(entry);
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            onError.accept(e);
+        }
+    }
+
+    /**
+     * Drops the entries covered by a saved snapshot. Entries after the snapshot's sequence, and
+     * recent ones, are carried over to the replacement journal; replicas that had not yet read
+     * the dropped entries reload the snapshot instead.
+     *
+     * @param snapshotSequence The feed sequence reflected in the snapshot that was just saved.
+     * @throws IOException if the journal cannot be rewritten.
+     */
+    public synchronized void checkpoint(long snapshotSequence) throws IOException {
+        if (writer == null || snapshotSequence <= baseSequence) return;
+        flush(); // Carry entries still queued over in file order
+        writer.close();
+        writer = null;
+        try {
+            long retainSince = System.currentTimeMillis() - RETENTION_MILLIS;
+            List<String> tail = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(path)) {
+                String line = reader.readLine(); // Header
+                while ((line = reader.readLine()) != null) {
+                    // Keep a contiguous suffix so replicas never see a gap
+                    if (!tail.isEmpty() || sequenceOf(line) > snapshotSequence || timestampOf(line) >= retainSince) {
+                        tail.add(line);
+                    }
+                }
+            }
+            rewrite(snapshotSequence, tail);
+            baseSequence = snapshotSequence;
+        } finally {
+            // Keep appending to whichever journal is now in place, so a failed checkpoint loses nothing
+            writer = Files.newBufferedWriter(path, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Returns the feed sequence reflected in the snapshot file.
+     *
+     * @return The base sequence of the current journal.
+     */
+    public synchronized long getBaseSequence() {
+        return baseSequence;
+    }
+
+    /**
+     * Writes the queued entries and stops writing the journal. The file is left in place for
+     * replicas to finish reading.
+     *
+     * @throws IOException if the journal cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        appender.shutdown();
+        if (writer != null) writer.close();
+        writer = null;
+    }
+
+    /**
+     * Parses the sequence number at the start of a journal entry.
+     *
+     * @param line The journal entry.
+     * @return The sequence number, or -1 if the line is malformed.
+     */
+    static long sequenceOf(String line) {
+        int comma = line.indexOf(',');
+        try {
+            return comma < 0 ? -1 : Long.parseLong(line, 0, comma, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Parses the timestamp field of a journal entry, or returns -1 if the line is malformed
+    private static long timestampOf(String line) {
+        int start = line.indexOf(',') + 1;
+        int end = line.indexOf(',', start);
+        try {
+            return start == 0 || end < 0 ? -1 : Long.parseLong(line, start, end, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Atomically replaces the journal with a header for the given base sequence and the given entries
+    private void rewrite(long base, List<String> entries) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp)) {
+            out.write(HEADER + "," + streamID + "," + base);
+            out.newLine();
+            for (String entry : entries) {
+                out.write(entry);
+                out.newLine();
+            }
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package com.example.assetmanagementsystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * ShardedAssetStore partitions the inventory into shards, for example by location or by ID range.
+ * Each shard has its own file, its own assets and its own AssetIndex, so saving after an edit
+ * rewrites only the shards the edit touched, and save time grows with the size of a shard rather
+ * than with the whole inventory. Shards are loaded and saved one per pool thread, and searches
+ * query every shard in parallel and merge the results in shard order.
+ *
+ * Shard files use the FileManager format and are named after their shard key, encoded so that
+ * distinct keys always get distinct names, even on case-insensitive file systems: "Bldg A" is
+ * stored in "SavedAssets.shard-%42ldg%20%41.txt". Every asset is placed by its key when loaded,
+ * so loading with a different key function reshards the files on the next save.
+ *
+ * The store is kept up to date by applying changes to it, or by subscribing it to a change feed.
+ * Asset IDs must be numeric and unique across the store, as on the change feed. Not thread-safe:
+ * changes, loads, saves and searches must not run concurrently, so a subscribed store should be
+ * saved on the publishing thread.
+ */
+class ShardedAssetStore implements AssetChangeFeed.Listener {
+    private static final String SHARD_PREFIX = ".shard-";
+    private static final String SHARD_SUFFIX = ".txt";
+
+    private final Path directory;
+    private final String baseName;
+    private final Function<Asset, String> shardKey;
+
+    // Shards by key, in key order so that merged results are stable
+    private Map<String, Shard> shards = new TreeMap<>();
+
+    /**
+     * Constructs an empty sharded store.
+     *
+     * @param directory The directory holding the shard files.
+     * @param baseName  The file name prefix shared by all shards, e.g. "SavedAssets".
+     * @param shardKey  Assigns each asset to a shard; see byLocation and byIdRange.
+     */
+    public ShardedAssetStore(Path directory, String baseName, Function<Asset, String> shardKey) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.shardKey = shardKey;
+    }
+
+    /**
+     * Shards hardware by location; all software shares a single "Software" shard.
+     *
+     * @return A shard key function.
+     */
+    public static Function<Asset, String> byLocation() {
+        return asset -> asset instanceof HardwareAsset ha ? ha.getLocation() : "Software";
+    }
+
+    /**
+     * Shards assets by numeric ID range, e.g. a width of 100000 puts IDs 0-99999 in one shard.
+     *
+     * @param width The number of IDs per shard.
+     * @return A shard key function.
+     */
+    public static Function<Asset, String> byIdRange(int width) {
+        if (width <= 0) throw new IllegalArgumentException("Shard width must be positive: " + width);
+        return asset -> {
+            long start = Math.floorDiv(Integer.parseInt(asset.getAssetID()), width) * (long) width;
+            return "ids-" + start + "-" + (start + width - 1);
+        };
+    }
+
+    /**
+     * Replaces the store's contents with the shard files in the directory. Files are read and
+     * shards indexed one per pool thread. Assets whose key no longer matches their file are moved
+     * to the right shard, and both shards are marked for rewriting; all other shards start clean.
+     *
+     * @throws IOException if the directory or a shard file cannot be read, a shard file name is not
+     *                     one this store would write, or an asset has a non-numeric ID; the store
+     *                     is left unchanged.
+     */
+    public void load() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, this::isShardFile)) {
+            stream.forEach(files::add);
+        }
+
+        // Read and validate every file in parallel, keeping the results in key order
+        Map<String, Path> fileOf = new TreeMap<>();
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            String key = decodeKey(fileName.substring(baseName.length() + SHARD_PREFIX.length(),
+                    fileName.length() - SHARD_SUFFIX.length()));
+            if (key == null) throw new IOException("Not a shard file name: " + file);
+            fileOf.put(key, file);
+        }
+        List<Callable<List<Asset>>> reads = new ArrayList<>();
+        for (Path file : fileOf.values()) {
+            reads.add(() -> {
+                List<Asset> assets = FileManager.loadAssetsFromFile(file.toString());
+                try {
+                    for (Asset asset : assets) Integer.parseInt(asset.getAssetID());
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid asset ID in " + file, e);
+                }
+                return assets;
+            });
+        }
+        List<List<Asset>> contents = runInParallel(reads);
+
+        // Place every asset by its current key; the first asset with an ID wins, as on load elsewhere
+        Map<String, Shard> placed = new TreeMap<>();
+        int next = 0;
+        for (String key : fileOf.keySet()) {
+            Shard source = placed.computeIfAbsent(key, Shard::new);
+            for (Asset asset : contents.get(next++)) {
+                Shard target = placed.computeIfAbsent(shardKey.apply(asset), Shard::new);
+                if (target.assets.putIfAbsent(asset.getAssetID(), asset) == null && target != source) {
+                    target.dirty = true;
+                    source.dirty = true;
+                }
+            }
+        }
+
+        List<Callable<Shard>> indexing = new ArrayList<>();
+        for (Shard shard : placed.values()) {
+            indexing.add(() -> {
+                shard.index.rebuild(new ArrayList<>(shard.assets.values()));
+                return shard;
+            });
+        }
+        runInParallel(indexing);
+        shards = placed;
+    }
+
+    /**
+     * Writes every shard that changed since it was loaded or last saved, one shard per pool
+     * thread. Each file is replaced atomically, and the files of shards that have become empty
+     * are deleted. Shards that fail to save stay dirty and are retried by the next save.
+     *
+     * @return The keys of the shards written or deleted, in key order.
+     * @throws IOException if a shard file cannot be written or deleted.
+     */
+    public List<String> save() throws IOException {
+        List<Shard> dirty = new ArrayList<>();
+        List<Callable<Shard>> writes = new ArrayList<>();
+        for (Shard shard : shards.values()) {
+            if (!shard.dirty) continue;
+            List<Asset> assets = new ArrayList<>(shard.assets.values());
+            dirty.add(shard);
+            writes.add(() -> {
+                Path file = directory.resolve(shardFileName(shard.key));
+                if (assets.isEmpty()) {
+                    Files.deleteIfExists(file);
+                } else {
+                    FileManager.saveAssetsAtomically(assets, file.toString());
+                }
+                return shard;
+            });
+        }
+
+        List<String> saved = new ArrayList<>();
+        IOException failure = null;
+        List<Future<Shard>> results = submitAll(writes);
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).get();
+            } catch (ExecutionException e) {
+                if (failure == null) failure = asIOException(e);
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while saving shards", e);
+            }
+            Shard shard = dirty.get(i);
+            shard.dirty = false;
+            saved.add(shard.key);
+            if (shard.assets.isEmpty()) shards.remove(shard.key);
+        }
+        if (failure != null) throw failure;
+        return saved;
+    }
+
+    /**
+     * Applies one published change; see applyChanges.
+     *
+     * @param sequence The change's position in the feed.
+     * @param change   The change.
+     */
+    @Override
+    public void onChange(long sequence, AssetChange change) {
+        applyChanges(List.of(change));
+    }
+
+    /**
+     * Applies a batch of changes in order. Each change is routed to the shard of its asset, and
+     * an asset whose key changes moves from its old shard to its new one. The affected shards'
+     * indexes are updated with one batch each, and those shards are marked for the next save.
+     *
+     * @param changes The changes to apply.
+     */
+    public void applyChanges(List<AssetChange> changes) {
+        Map<Shard, List<AssetChange>> byShard = new LinkedHashMap<>();
+        for (AssetChange change : changes) {
+            String id = change.assetID();
+            // Work with the stored version, which may be a different object from the change's
+            Shard from = change.before() == null ? null : shards.get(shardKey.apply(change.before()));
+            Asset stored = from == null ? null : from.assets.remove(id);
+            if (stored == null) from = null;
+
+            Shard to = null;
+            Asset replaced = null;
+            if (change.after() != null) {
+                to = shards.computeIfAbsent(shardKey.apply(change.after()), Shard::new);
+                replaced = to.assets.put(id, change.after());
+            }
+
+            if (from == to) {
+                if (to != null) routed(byShard, to).add(AssetChange.modified(stored, change.after()));
+                continue;
+            }
+            if (from != null) routed(byShard, from).add(AssetChange.removed(stored));
+            if (to != null) {
+                routed(byShard, to).add(replaced == null
+                        ? AssetChange.added(change.after())
+                        : AssetChange.modified(replaced, change.after()));
+            }
+        }
+
+        byShard.forEach((shard, shardChanges) -> {
+            shard.index.applyChanges(shardChanges);
+            shard.dirty = true;
+        });
+    }
+
+    /**
+     * Finds an asset by ID by querying each shard's ID tree in parallel.
+     *
+     * @param assetID The asset ID to look up.
+     * @return The matching asset, or null if no shard holds it.
+     */
+    public Asset findByID(String assetID) {
+        return shards.values().parallelStream()
+                .map(shard -> shard.index.findByID(assetID))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Searches an attribute in every shard in parallel; see AssetIndex.search.
+     *
+     * @param attribute The attribute name, e.g. "Manufacturer".
+     * @param query     The search term.
+     * @return Each shard's exact then partial matches, in shard order.
+     */
+    public List<Asset> search(String attribute, String query) {
+        return shards.values().parallelStream()
+                .flatMap(shard -> shard.index.search(attribute, query).stream())
+                .toList();
+    }
+
+    /**
+     * Finds the assets whose attribute equals a value in every shard in parallel; see
+     * AssetIndex.searchExact.
+     *
+     * @param attribute The attribute name, e.g. "Location".
+     * @param value     The value to match.
+     * @return The matching assets, in shard order.
+     */
+    public List<Asset> searchExact(String attribute, String value) {
+        return shards.values().parallelStream()
+                .flatMap(shard -> shard.index.searchExact(attribute, value).stream())
+                .toList();
+    }
+
+    /**
+     * Searches an attribute for values within an edit distance of the query in every shard in
+     * parallel; see AssetIndex.fuzzySearch.
+     *
+     * @param attribute   "Name" or "Model".
+     * @param query       The search term.
+     * @param maxDistance The maximum number of single-character edits allowed.
+     * @return Each shard's matches, closest first, in shard order.
+     */
+    public List<Asset> fuzzySearch(String attribute, String query, int maxDistance) {
+        return shards.values().parallelStream()
+                .flatMap(shard -> shard.index.fuzzySearch(attribute, query, maxDistance).stream())
+                .toList();
+    }
+
+    /**
+     * Returns all assets across every shard, in shard order.
+     *
+     * @return A new list containing every stored asset.
+     */
+    public List<Asset> getAssets() {
+        List<Asset> all = new ArrayList<>();
+        for (Shard shard : shards.values()) all.addAll(shard.assets.values());
+        return all;
+    }
+
+    /**
+     * Returns the keys of the shards currently held, including emptied shards not yet saved.
+     *
+     * @return Shard keys in order.
+     */
+    public List<String> getShardKeys() {
+        return List.copyOf(shards.keySet());
+    }
+
+    /**
+     * Returns the name of the file that holds a shard.
+     *
+     * @param key The shard key.
+     * @return The file name, relative to the store's directory.
+     */
+    String shardFileName(String key) {
+        return baseName + SHARD_PREFIX + encodeKey(key) + SHARD_SUFFIX;
+    }
+
+    // Encodes a key for a file name: lower-case letters, digits and '-' are kept, and every other
+    // UTF-8 byte becomes %xx, so names never differ only in case
+    static String encodeKey(String key) {
+        StringBuilder name = new StringBuilder();
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            if ((b >= 'a' && b <= 'z') || (b >= '0' && b <= '9') || b == '-') {
+                name.append((char) b);
+            } else {
+                name.append('%').append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+        }
+        return name.toString();
+    }
+
+    // Reverses encodeKey, returning null for a name that encodeKey would not produce
+    static String decodeKey(String name) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '%') {
+                if (i + 2 >= name.length()) return null;
+                int high = Character.digit(name.charAt(i + 1), 16);
+                int low = Character.digit(name.charAt(i + 2), 16);
+                if (high < 0 || low < 0) return null;
+                bytes.write(high << 4 | low);
+                i += 2;
+            } else {
+                bytes.write(c);
+            }
+        }
+        String key = bytes.toString(StandardCharsets.UTF_8);
+        return encodeKey(key).equals(name) ? key : null;
+    }
+
+    // Whether a directory entry is named like one of this store's shard files
+    private boolean isShardFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(baseName + SHARD_PREFIX) && name.endsWith(SHARD_SUFFIX)
+                && name.length() >= baseName.length() + SHARD_PREFIX.length() + SHARD_SUFFIX.length();
+    }
+
+    // Returns the list of changes for a shard, creating it on first use
+    private static List<AssetChange> routed(Map<Shard, List<AssetChange>> byShard, Shard shard) {
+        return byShard.computeIfAbsent(shard, s -> new ArrayList<>());
+    }
+
+    // Runs tasks on the shard pool and returns their results in task order, rethrowing the first failure
+    private static <T> List<T> runInParallel(List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : submitAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw asIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while processing shards", e);
+            }
+        }
+        return results;
+    }
+
+    // Runs tasks on a pool sized to the work and waits for all of them to finish
+    private static <T> List<Future<T>> submitAll(List<Callable<T>> tasks) throws IOException {
+        if (tasks.isEmpty()) return List.of();
+        int threads = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "asset-shard-io");
+            thread.setDaemon(true);
+            return thread;
+        })) {
+            return pool.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while processing shards", e);
+        }
+    }
+
+    // Unwraps a task failure, keeping I/O errors as they are
+    private static IOException asIOException(ExecutionException e) {
+        if (e.getCause() instanceof IOException io) return io;
+        return new IOException("Shard processing failed", e.getCause());
+    }
+
+    // One partition of the inventory with its own file, assets and index
+    private static class Shard {
+        final String key;
+        final Map<String, Asset> assets = new LinkedHashMap<>();
+        final AssetIndex index = new AssetIndex();
+        boolean dirty;
+
+        Shard(String key) {
+            this.key = key;
+        }
+    }
+}
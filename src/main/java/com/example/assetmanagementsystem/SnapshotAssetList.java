@@ -0,0 +1,168 @@
+package com.example.assetmanagementsystem;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * SnapshotAssetList is a mutable asset list that can hand out immutable snapshots of itself
+ * without copying every element. Rows are held in fixed-size chunks; a snapshot copies only the
+ * array of chunk references and marks every chunk as shared. The next write to a shared chunk
+ * copies that chunk first, so a snapshot costs O(n / CHUNK_SIZE) and each chunk is copied at most
+ * once per snapshot, and only if it is edited afterwards.
+ *
+ * This lets AutosaveScheduler take its snapshot on the JavaFX thread without an O(n) copy of a
+ * large inventory. Inserting or removing in the middle shifts later rows, as in an ArrayList.
+ * Not thread-safe; snapshots may be read from any thread.
+ */
+class SnapshotAssetList extends AbstractList<Asset> implements RandomAccess {
+    private static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Row r lives at chunks[r >> CHUNK_SHIFT][r & CHUNK_MASK]; shared chunks are also referenced by a snapshot
+    private Asset[][] chunks = new Asset[0][];
+    private boolean[] shared = new boolean[0];
+    private int chunkCount;
+    private int size;
+
+    /**
+     * Returns an immutable view of the current rows. Later changes to this list do not affect it.
+     *
+     * @return The snapshot.
+     */
+    public List<Asset> snapshot() {
+        Arrays.fill(shared, 0, chunkCount, true);
+        return new Snapshot(Arrays.copyOf(chunks, chunkCount), size);
+    }
+
+    @Override
+    public Asset get(int index) {
+        checkIndex(index, size);
+        return chunks[index >> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    @Override
+    public Asset set(int index, Asset asset) {
+        checkIndex(index, size);
+        Asset[] chunk = writable(index >> CHUNK_SHIFT);
+        Asset previous = chunk[index & CHUNK_MASK];
+        chunk[index & CHUNK_MASK] = asset;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Asset asset) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if ((size & CHUNK_MASK) == 0) appendChunk();
+        size++;
+        modCount++;
+        for (int row = size - 1; row > index; row--) store(row, load(row - 1));
+        store(index, asset);
+    }
+
+    @Override
+    public Asset remove(int index) {
+        Asset removed = get(index);
+        removeRange(index, index + 1);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        // Drop the chunks rather than clearing them, since snapshots may still hold them
+        chunks = new Asset[0][];
+        shared = new boolean[0];
+        chunkCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes a run of rows by moving the later rows down, e.g. for subList(from, to).clear().
+     *
+     * @param fromIndex The first row to remove.
+     * @param toIndex   The row after the last one to remove.
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        int removed = toIndex - fromIndex;
+        if (removed <= 0) return;
+        for (int row = fromIndex; row + removed < size; row++) store(row, load(row + removed));
+        int newSize = size - removed;
+
+        // Release the vacated rows: whole chunks are dropped, the rest of the last chunk is cleared
+        int newChunkCount = (newSize + CHUNK_MASK) >> CHUNK_SHIFT;
+        Arrays.fill(chunks, newChunkCount, chunkCount, null);
+        chunkCount = newChunkCount;
+        if ((newSize & CHUNK_MASK) != 0) {
+            Arrays.fill(writable(chunkCount - 1), newSize & CHUNK_MASK, CHUNK_SIZE, null);
+        }
+        size = newSize;
+        modCount++;
+    }
+
+    // Reads a row without a bounds check
+    private Asset load(int row) {
+        return chunks[row >> CHUNK_SHIFT][row & CHUNK_MASK];
+    }
+
+    // Writes a row without a bounds check, copying its chunk first if a snapshot shares it
+    private void store(int row, Asset asset) {
+        writable(row >> CHUNK_SHIFT)[row & CHUNK_MASK] = asset;
+    }
+
+    // Returns a chunk that only this list refers to
+    private Asset[] writable(int chunk) {
+        if (shared[chunk]) {
+            chunks[chunk] = chunks[chunk].clone();
+            shared[chunk] = false;
+        }
+        return chunks[chunk];
+    }
+
+    // Adds an empty chunk for the rows after the current last one
+    private void appendChunk() {
+        if (chunkCount == chunks.length) {
+            int capacity = Math.max(4, chunkCount * 2);
+            chunks = Arrays.copyOf(chunks, capacity);
+            shared = Arrays.copyOf(shared, capacity);
+        }
+        chunks[chunkCount] = new Asset[CHUNK_SIZE];
+        shared[chunkCount] = false;
+        chunkCount++;
+    }
+
+    // Validates that an index refers to an existing row
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    // An immutable view over chunks that the list no longer writes to
+    private static class Snapshot extends AbstractList<Asset> implements RandomAccess {
+        private final Asset[][] chunks;
+        private final int size;
+
+        Snapshot(Asset[][] chunks, int size) {
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        @Override
+        public Asset get(int index) {
+            checkIndex(index, size);
+            return chunks[index >> CHUNK_SHIFT][index & CHUNK_MASK];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -48,6 +48,17 @@ class SoftwareAsset extends Asset {
                 ", License Key: " + licenseKey;
     }
 
+    /**
+     * Returns a copy of this software asset with a different active status.
+     *
+     * @param active The new status
+     * @return A copy of the asset with the given status
+     */
+    @Override
+    public SoftwareAsset withActive(boolean active) {
+        return new SoftwareAsset(assetID, name, manufacturer, model, purchaseDate, active, version, licenseKey);
+    }
+
     /**
      * Returns the version of the software.
      *
@@ -0,0 +1,97 @@
+package com.example.assetmanagementsystem;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorColumnScanner is the SIMD implementation of ColumnScanner, built on the Vector API.
+ * Each predicate compares a full machine vector of rows per instruction and packs the
+ * resulting lane mask straight into the selection bitmap. Tail rows that do not fill a
+ * vector fall back to the scalar loop.
+ *
+ * Only instantiate through ColumnScanner.create(), which checks that the incubator module
+ * is present; loading this class without it fails.
+ */
+class VectorColumnScanner extends ColumnScanner {
+    // Lane masks are packed with VectorMask.toLong, which holds at most 64 lanes; int vectors
+    // never exceed that, byte vectors wider than 512 bits are narrowed to 64 lanes
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES =
+            ByteVector.SPECIES_PREFERRED.length() <= 64 ? ByteVector.SPECIES_PREFERRED : ByteVector.SPECIES_512;
+
+    @Override
+    long[] selectEquals(int[] column, int size, int value) {
+        long[] selection = new long[words(size)];
+        int i = 0;
+        for (int upper = INTS.loopBound(size); i < upper; i += INTS.length()) {
+            VectorMask<Integer> mask = IntVector.fromArray(INTS, column, i).eq(value);
+            orMask(selection, i, mask.toLong(), INTS.length());
+        }
+        for (; i < size; i++) {
+            if (column[i] == value) selection[i >>> 6] |= 1L << i;
+        }
+        return selection;
+    }
+
+    @Override
+    long[] selectEquals(byte[] column, int size, byte value) {
+        long[] selection = new long[words(size)];
+        int i = 0;
+        for (int upper = BYTES.loopBound(size); i < upper; i += BYTES.length()) {
+            VectorMask<Byte> mask = ByteVector.fromArray(BYTES, column, i).eq(value);
+            orMask(selection, i, mask.toLong(), BYTES.length());
+        }
+        for (; i < size; i++) {
+            if (column[i] == value) selection[i >>> 6] |= 1L << i;
+        }
+        return selection;
+    }
+
+    @Override
+    long[] selectRange(int[] column, int size, int from, int to) {
+        long[] selection = new long[words(size)];
+        int i = 0;
+        for (int upper = INTS.loopBound(size); i < upper; i += INTS.length()) {
+            IntVector values = IntVector.fromArray(INTS, column, i);
+            VectorMask<Integer> mask = values.compare(VectorOperators.GE, from)
+                    .and(values.compare(VectorOperators.LE, to));
+            orMask(selection, i, mask.toLong(), INTS.length());
+        }
+        for (; i < size; i++) {
+            if (column[i] >= from && column[i] <= to) selection[i >>> 6] |= 1L << i;
+        }
+        return selection;
+    }
+
+    @Override
+    int countEquals(byte[] column, int size, byte value) {
+        int count = 0;
+        int i = 0;
+        for (int upper = BYTES.loopBound(size); i < upper; i += BYTES.length()) {
+            count += ByteVector.fromArray(BYTES, column, i).eq(value).trueCount();
+        }
+        for (; i < size; i++) {
+            if (column[i] == value) count++;
+        }
+        return count;
+    }
+
+    @Override
+    int countRange(int[] column, int size, int from, int to) {
+        int count = 0;
+        int i = 0;
+        for (int upper = INTS.loopBound(size); i < upper; i += INTS.length()) {
+            IntVector values = IntVector.fromArray(INTS, column, i);
+            count += values.compare(VectorOperators.GE, from)
+                    .and(values.compare(VectorOperators.LE, to))
+                    .trueCount();
+        }
+        for (; i < size; i++) {
+            if (column[i] >= from && column[i] <= to) count++;
+        }
+        return count;
+    }
+}
@@ -1,6 +1,7 @@
 module com.example.assetmanagementsystem {
     requires javafx.controls;
     requires javafx.fxml;
+    requires static jdk.incubator.vector;
 
 
     opens com.example.assetmanagementsystem to javafx.fxml;
@@ -0,0 +1,89 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives edits, undo and redo through an AssetSession and checks the incrementally maintained
+ * views against a full recount of the inventory after every step.
+ */
+class AssetAggregatesTest {
+    @TempDir
+    Path dir;
+
+    private final AssetManager assetManager = new AssetManager();
+    private final AssetIndex assetIndex = new AssetIndex();
+    private final AssetSession session = new AssetSession(assetManager, assetIndex, changes -> { });
+    private final AssetAggregates aggregates = AssetAggregates.standard();
+
+    @Test
+    void viewsMatchARecountAfterEveryStep() throws IOException {
+        assetManager.getChangeFeed().subscribe(aggregates);
+        String file = dir.resolve("assets.txt").toString();
+        FileManager.saveAssetsToFile(AssetFixtures.sampleAssets(300), file);
+        session.load(file);
+        assertMatchesRecount("load");
+
+        Random random = new Random(21);
+        int nextID = 1000;
+        for (int step = 0; step < 1000; step++) {
+            List<Asset> assets = assetManager.getAssets();
+            Asset target = assets.isEmpty() ? null : assets.get(random.nextInt(assets.size()));
+            switch (random.nextInt(8)) {
+                case 0 -> session.perform(List.of(AssetChange.added(new HardwareAsset(String.valueOf(nextID++),
+                        "New " + step, "Maker " + random.nextInt(3), "M1", "3-" + (1 + random.nextInt(28)) + "-2021",
+                        random.nextBoolean(), "Bldg " + (char) ('A' + random.nextInt(6)), "1-1-2026"))));
+                case 1 -> {
+                    // Move between location groups (software has none), or between status groups
+                    if (target instanceof HardwareAsset ha) {
+                        session.perform(List.of(AssetChange.modified(ha, ha.withLocation("Bldg " + (char) ('A' + random.nextInt(6))))));
+                    } else if (target != null) {
+                        session.perform(List.of(AssetChange.modified(target, target.withActive(!target.isActive()))));
+                    }
+                }
+                case 2 -> {
+                    // Change manufacturer, model and purchase year in one edit
+                    if (target instanceof HardwareAsset ha) {
+                        session.perform(List.of(AssetChange.modified(ha, new HardwareAsset(ha.getAssetID(), ha.getName(),
+                                "Maker " + random.nextInt(20), "M" + random.nextInt(5), "7-4-" + (2015 + random.nextInt(10)),
+                                ha.isActive(), ha.getLocation(), ha.getMaintenanceDate()))));
+                    }
+                }
+                case 3 -> {
+                    if (target != null) session.perform(List.of(AssetChange.removed(target)));
+                }
+                case 4 -> session.perform(AssetChange.modifyEach(assetIndex.searchExact("Location", "Bldg B"),
+                        asset -> asset.withActive(false)));
+                case 5 -> session.perform(AssetChange.removeEach(
+                        assetIndex.searchExact("Manufacturer", "Maker " + random.nextInt(20))));
+                case 6 -> session.undo();
+                default -> session.redo();
+            }
+            assertMatchesRecount("step " + step);
+        }
+
+        // Reloading replaces the edited inventory with the file's
+        session.load(file);
+        assertMatchesRecount("reload");
+        assertEquals(300, aggregates.getTotal());
+    }
+
+    // Compares every view with views built from scratch over the current assets
+    private void assertMatchesRecount(String when) {
+        AssetAggregates recount = AssetAggregates.standard();
+        for (Asset asset : new ArrayList<>(assetManager.getAssets())) recount.onChange(0, AssetChange.added(asset));
+
+        assertEquals(assetManager.getAssets().size(), aggregates.getTotal(), when);
+        for (AssetAggregates.View view : recount.getViews()) {
+            assertEquals(view.counts(), aggregates.getView(view.getName()).counts(), view.getName() + " after " + when);
+        }
+    }
+}
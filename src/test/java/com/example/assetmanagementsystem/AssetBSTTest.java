@@ -0,0 +1,127 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Checks ordered iteration, range seeks and parallel streams over balanced, random and
+ * degenerate (list-shaped) trees. The trees hold the even IDs 2..2000, so every odd ID is a
+ * seek to a missing key.
+ */
+class AssetBSTTest {
+    private static final int MAX_ID = 2000;
+
+    @Test
+    void iterationIsInIDOrder() {
+        List<Integer> expected = evenIDs(2, MAX_ID);
+        for (AssetBST tree : trees()) {
+            List<Integer> iterated = new ArrayList<>();
+            tree.forEach(asset -> iterated.add(id(asset)));
+            assertEquals(expected, iterated);
+            assertEquals(expected, tree.stream().map(AssetBSTTest::id).toList());
+            assertEquals(expected.size(), tree.size());
+        }
+    }
+
+    @Test
+    void rangesIncludeBothBoundsAndExcludeTheirNeighbours() {
+        for (AssetBST tree : trees()) {
+            assertRange(tree, "100", "200", evenIDs(100, 200));
+            assertRange(tree, "50", "50", List.of(50));
+            assertRange(tree, null, "10", evenIDs(2, 10));
+            assertRange(tree, "1996", null, evenIDs(1996, MAX_ID));
+            assertRange(tree, null, null, evenIDs(2, MAX_ID));
+        }
+    }
+
+    @Test
+    void seeksToMissingIDsStartAtTheNextAsset() {
+        for (AssetBST tree : trees()) {
+            assertRange(tree, "101", "199", evenIDs(102, 198));
+            assertRange(tree, "-5", "3", List.of(2));
+            assertRange(tree, "1999", "5000", List.of(2000));
+            assertRange(tree, "51", "51", List.of());
+            assertRange(tree, "3000", null, List.of());
+            assertRange(tree, "10", "5", List.of());
+        }
+        assertFalse(new AssetBST().iterator("1", "10").hasNext());
+    }
+
+    @Test
+    void parallelStreamsMatchSequentialOnes() {
+        for (AssetBST tree : trees()) {
+            assertEquals(tree.stream().map(AssetBSTTest::id).toList(),
+                    tree.stream().parallel().map(AssetBSTTest::id).toList());
+            assertEquals(tree.stream("301", "1500").map(AssetBSTTest::id).toList(),
+                    tree.stream("301", "1500").parallel().map(AssetBSTTest::id).toList());
+            assertEquals(tree.stream().mapToLong(AssetBSTTest::id).sum(),
+                    tree.stream().parallel().mapToLong(AssetBSTTest::id).sum());
+        }
+    }
+
+    @Test
+    void splitsPartitionTheTreeInOrder() {
+        AssetBST tree = trees().get(0);
+        Spliterator<Asset> suffix = tree.spliterator();
+        Spliterator<Asset> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+
+        List<Integer> joined = new ArrayList<>();
+        prefix.forEachRemaining(asset -> joined.add(id(asset)));
+        int prefixSize = joined.size();
+        suffix.forEachRemaining(asset -> joined.add(id(asset)));
+        assertEquals(evenIDs(2, MAX_ID), joined);
+        // A balanced tree splits near its root
+        assertEquals(MAX_ID / 4, prefixSize, MAX_ID / 8);
+    }
+
+    // Checks a range against both its iterator and its stream
+    private static void assertRange(AssetBST tree, String fromID, String toID, List<Integer> expected) {
+        List<Integer> iterated = new ArrayList<>();
+        Iterator<Asset> range = tree.iterator(fromID, toID);
+        range.forEachRemaining(asset -> iterated.add(id(asset)));
+        String name = fromID + ".." + toID;
+        assertEquals(expected, iterated, name);
+        assertEquals(expected, tree.stream(fromID, toID).map(AssetBSTTest::id).toList(), name);
+    }
+
+    // The same even IDs as a balanced tree, a tree built in random order and a list-shaped tree
+    private static List<AssetBST> trees() {
+        List<Asset> sorted = evenIDs(2, MAX_ID).stream().map(AssetBSTTest::asset).toList();
+        AssetBST balanced = new AssetBST();
+        balanced.build(sorted);
+
+        List<Asset> shuffled = new ArrayList<>(sorted);
+        Collections.shuffle(shuffled, new Random(9));
+        AssetBST random = new AssetBST();
+        shuffled.forEach(random::insert);
+
+        // Inserting in descending order gives a left-leaning chain, the worst case for the cursor's stack
+        AssetBST degenerate = new AssetBST();
+        for (int i = sorted.size() - 1; i >= 0; i--) degenerate.insert(sorted.get(i));
+        return List.of(balanced, random, degenerate);
+    }
+
+    private static List<Integer> evenIDs(int from, int to) {
+        return IntStream.rangeClosed(from, to).filter(id -> id % 2 == 0).boxed().toList();
+    }
+
+    private static Asset asset(int id) {
+        return new HardwareAsset(String.valueOf(id), "Device " + id, "Dell", "XPS", "1-5-2023", true, "Bldg A", "");
+    }
+
+    private static int id(Asset asset) {
+        return Integer.parseInt(asset.getAssetID());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks file diffs against the in-memory snapshot diff, for files in the application's own
+ * insertion order and for block-compressed files.
+ */
+class AssetDiffTest {
+    @TempDir
+    Path dir;
+
+    private final List<Asset> before = AssetFixtures.sampleAssets(2000);
+    private final List<Asset> after = edited(before);
+
+    @Test
+    void unsortedFilesMatchTheSnapshotDiff() throws IOException {
+        String beforeFile = save("before.txt", before);
+        String afterFile = save("after.txt", after);
+
+        assertEquals(records(AssetDiff.diffSnapshots(before, after)), records(diffFiles(beforeFile, afterFile)));
+    }
+
+    @Test
+    void compressedAndPlainFilesCanBeMixed() throws IOException {
+        String beforeFile = dir.resolve("before.amsb").toString();
+        BlockCompressedAssetFile.write(before, beforeFile);
+        String afterFile = save("after.txt", after);
+
+        assertEquals(records(AssetDiff.diffSnapshots(before, after)), records(diffFiles(beforeFile, afterFile)));
+    }
+
+    @Test
+    void identicalFilesHaveNoChanges() throws IOException {
+        String file = save("assets.txt", before);
+        assertTrue(diffFiles(file, file).isEmpty());
+    }
+
+    @Test
+    void exportWritesOneRecordPerChange() throws IOException {
+        String beforeFile = save("before.txt", before);
+        String afterFile = save("after.txt", after);
+        Path output = dir.resolve("changes.txt");
+
+        long count = AssetDiff.exportChanges(beforeFile, afterFile, output.toString());
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(count, lines.size());
+        assertEquals(records(AssetDiff.diffSnapshots(before, after)), lines);
+    }
+
+    @Test
+    void iteratorsMustBeSorted() {
+        List<Asset> unsorted = List.of(before.get(0), before.get(1), before.get(0));
+        assertThrows(IllegalStateException.class,
+                () -> AssetDiff.diff(unsorted.iterator(), List.<Asset>of().iterator(), change -> { }));
+    }
+
+    @Test
+    void laterDuplicateIDsAreIgnored() throws IOException {
+        Asset first = before.get(0);
+        List<Asset> duplicated = new ArrayList<>(before);
+        duplicated.add(first.withActive(!first.isActive()));
+        duplicated.add(new HardwareAsset("00" + first.getAssetID(), "Copy", "Dell", "XPS", "1-5-2023", true,
+                "Bldg A", "6-1-2024"));
+
+        assertTrue(AssetDiff.diffSnapshots(before, duplicated).isEmpty());
+        assertTrue(diffFiles(save("before.txt", before), save("after.txt", duplicated)).isEmpty());
+        // The first row wins even when the rows are not in ID order
+        duplicated.add(0, first.withActive(!first.isActive()));
+        List<AssetChange> changes = AssetDiff.diffSnapshots(before, duplicated);
+        assertEquals(List.of(AssetChange.modified(first, duplicated.get(0))), changes);
+        assertEquals(records(changes), records(diffFiles(save("before.txt", before), save("after.txt", duplicated))));
+    }
+
+    // Retires, removes and adds a few assets, keeping the remaining order
+    private static List<Asset> edited(List<Asset> assets) {
+        List<Asset> edited = new ArrayList<>(assets);
+        edited.set(10, edited.get(10).withActive(!edited.get(10).isActive()));
+        edited.set(500, edited.get(500).withActive(!edited.get(500).isActive()));
+        edited.remove(1500);
+        edited.remove(3);
+        edited.add(new HardwareAsset("9001", "Scanner", "Canon", "S1", "3-3-2024", true, "Bldg C", "9-1-2024"));
+        edited.add(0, new SoftwareAsset("9000", "Editor", "JetBrains", "IDE", "3-3-2024", true, "2024.1", "K"));
+        return edited;
+    }
+
+    private String save(String name, List<Asset> assets) throws IOException {
+        String file = dir.resolve(name).toString();
+        FileManager.saveAssetsToFile(assets, file);
+        return file;
+    }
+
+    private static List<AssetChange> diffFiles(String beforeFile, String afterFile) throws IOException {
+        List<AssetChange> changes = new ArrayList<>();
+        AssetDiff.diffFiles(beforeFile, afterFile, changes::add);
+        return changes;
+    }
+
+    private static List<String> records(List<AssetChange> changes) {
+        return changes.stream().map(AssetChange::toRecord).toList();
+    }
+}
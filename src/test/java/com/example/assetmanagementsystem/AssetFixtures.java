@@ -0,0 +1,35 @@
+package com.example.assetmanagementsystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Sample inventories shared by the tests.
+ */
+final class AssetFixtures {
+    private AssetFixtures() {
+    }
+
+    // Creates assets with IDs 1..count in shuffled order
+    static List<Asset> sampleAssets(int count) {
+        List<Asset> assets = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            if (id % 3 == 0) {
+                assets.add(new SoftwareAsset(String.valueOf(id), "App " + id, "Vendor " + id % 7, "Pro",
+                        "2-1-2023", id % 5 != 0, "1." + id % 10, "KEY-" + id));
+            } else {
+                assets.add(new HardwareAsset(String.valueOf(id), "Device " + id, "Maker " + id % 11, "M" + id % 4,
+                        "1-5-2023", id % 5 != 0, "Bldg " + (char) ('A' + id % 4), "6-" + (1 + id % 28) + "-2024"));
+            }
+        }
+        Collections.shuffle(assets, new Random(7));
+        return assets;
+    }
+
+    // Formats assets as file records, for comparing inventories by content
+    static List<String> records(List<Asset> assets) {
+        return assets.stream().map(FileManager::formatAsset).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks ID allocation against the persisted high-water (lease) file.
+ */
+class AssetIdAllocatorTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void blocksAreLeasedFromTheHighWaterFile() throws IOException {
+        Path file = dir.resolve("assets.txt.ids");
+        AssetIdAllocator allocator = new AssetIdAllocator(file.toString(), 16);
+        assertEquals(1, allocator.allocate());
+        assertEquals(2, allocator.allocate());
+        assertEquals(16, highWater(file));
+
+        for (int i = 3; i <= 17; i++) assertEquals(i, allocator.allocate());
+        assertEquals(32, highWater(file));
+    }
+
+    @Test
+    void allocatorsSharingAFileNeverOverlap() throws IOException {
+        Path file = dir.resolve("assets.txt.ids");
+        AssetIdAllocator first = new AssetIdAllocator(file.toString(), 10);
+        AssetIdAllocator second = new AssetIdAllocator(file.toString(), 10);
+
+        assertEquals(1, first.allocate());
+        assertEquals(11, second.allocate());
+        assertEquals(new AssetIdAllocator.IdRange(21, 25), first.lease(5));
+        assertEquals(2, first.allocate());
+        assertEquals(25, highWater(file));
+    }
+
+    @Test
+    void closeReturnsTheUnusedTailUnlessAnotherProcessLeased() throws IOException {
+        Path file = dir.resolve("assets.txt.ids");
+        AssetIdAllocator allocator = new AssetIdAllocator(file.toString(), 16);
+        allocator.allocate();
+        allocator.allocate();
+        long third = allocator.allocate();
+        allocator.release(third);
+        allocator.close();
+        assertEquals(2, highWater(file));
+
+        AssetIdAllocator a = new AssetIdAllocator(file.toString(), 16);
+        AssetIdAllocator b = new AssetIdAllocator(file.toString(), 16);
+        assertEquals(3, a.allocate());
+        assertEquals(19, b.allocate());
+        a.close();
+        assertEquals(34, highWater(file));
+    }
+
+    @Test
+    void releasedAndObservedIDs() throws IOException {
+        Path file = dir.resolve("assets.txt.ids");
+        AssetIdAllocator allocator = new AssetIdAllocator(file.toString(), 8);
+        for (int i = 0; i < 5; i++) allocator.allocate();
+        allocator.release(2);
+        assertEquals(2, allocator.allocate());
+
+        allocator.observe(100);
+        assertEquals(101, allocator.allocate());
+        assertTrue(highWater(file) >= 101);
+    }
+
+    @Test
+    void concurrentAllocationsAreUnique() throws Exception {
+        Path file = dir.resolve("assets.txt.ids");
+        AssetIdAllocator allocator = new AssetIdAllocator(file.toString(), 16);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < 1000; i++) ids.add(allocator.allocate());
+                    return ids;
+                }));
+            }
+            Set<Long> all = new HashSet<>();
+            for (Future<List<Long>> result : results) all.addAll(result.get());
+            assertEquals(8000, all.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void corruptHighWaterFileIsRejected() throws IOException {
+        Path file = dir.resolve("assets.txt.ids");
+        Files.writeString(file, "not a number");
+        AssetIdAllocator allocator = new AssetIdAllocator(file.toString(), 16);
+        assertThrows(IOException.class, allocator::allocate);
+    }
+
+    private static long highWater(Path file) throws IOException {
+        return Long.parseLong(Files.readString(file).strip());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trips an index through its sidecar file and checks that stale or damaged sidecars are rejected.
+ */
+class AssetIndexFileTest {
+    @TempDir
+    Path dir;
+
+    private String assetFile;
+    private String indexFile;
+
+    @Test
+    void restoredIndexAnswersLikeARebuiltOne() throws IOException {
+        List<Asset> rows = saveAndIndex(AssetFixtures.sampleAssets(1000));
+        AssetIndex built = new AssetIndex();
+        built.rebuild(rows);
+
+        AssetIndex restored = new AssetIndex();
+        assertTrue(AssetIndexFile.load(indexFile, rows, checksumOf(assetFile), restored));
+
+        assertEquals(built.getAssetBST().size(), restored.getAssetBST().size());
+        assertEquals(built.attributes(), restored.attributes());
+        assertSame(rows.get(17), restored.findByID(rows.get(17).getAssetID()));
+        for (String attribute : List.of("Location", "Manufacturer", "Name")) {
+            String value = attribute.equals("Location") ? "Bldg C" : attribute.equals("Name") ? "Device 10" : "Maker 3";
+            assertEquals(ids(built.searchExact(attribute, value)), ids(restored.searchExact(attribute, value)));
+        }
+        assertEquals(ids(built.fuzzySearch("Name", "Devise 42", 1)), ids(restored.fuzzySearch("Name", "Devise 42", 1)));
+
+        // The mapping is released, so the sidecar can be replaced straight away
+        AssetIndexFile.write(restored, rows, indexFile);
+    }
+
+    @Test
+    void staleSidecarIsRejected() throws IOException {
+        List<Asset> rows = saveAndIndex(AssetFixtures.sampleAssets(200));
+        List<Asset> edited = new ArrayList<>(rows);
+        edited.set(5, edited.get(5).withActive(!edited.get(5).isActive()));
+        FileManager.saveAssetsToFile(edited, assetFile);
+
+        AssetIndex target = new AssetIndex();
+        assertFalse(AssetIndexFile.load(indexFile, FileManager.loadAssetsFromFile(assetFile), checksumOf(assetFile), target));
+        assertEquals(0, target.getAssetBST().size());
+    }
+
+    @Test
+    void truncatedSidecarIsRejected() throws IOException {
+        List<Asset> rows = saveAndIndex(AssetFixtures.sampleAssets(200));
+        byte[] sidecar = Files.readAllBytes(Path.of(indexFile));
+        for (int length : new int[] {0, 7, 20, sidecar.length / 2, sidecar.length - 1}) {
+            Files.write(Path.of(indexFile), Arrays.copyOf(sidecar, length));
+            AssetIndex target = new AssetIndex();
+            assertFalse(AssetIndexFile.load(indexFile, rows, checksumOf(assetFile), target), "length " + length);
+            assertEquals(0, target.getAssetBST().size());
+            assertNull(target.findByID(rows.get(0).getAssetID()));
+        }
+    }
+
+    @Test
+    void missingSidecarOrWrongRowCountIsRejected() throws IOException {
+        List<Asset> rows = saveAndIndex(AssetFixtures.sampleAssets(50));
+        assertFalse(AssetIndexFile.load(indexFile, rows.subList(0, 49), checksumOf(assetFile), new AssetIndex()));
+        Files.delete(Path.of(indexFile));
+        assertFalse(AssetIndexFile.load(indexFile, rows, checksumOf(assetFile), new AssetIndex()));
+    }
+
+    // Saves the assets, builds their index and writes its sidecar; returns the rows as loaded back
+    private List<Asset> saveAndIndex(List<Asset> assets) throws IOException {
+        assetFile = dir.resolve("assets.txt").toString();
+        indexFile = AssetIndexFile.indexFileFor(assetFile);
+        FileManager.saveAssetsToFile(assets, assetFile);
+        List<Asset> rows = FileManager.loadAssetsFromFile(assetFile);
+        AssetIndex index = new AssetIndex();
+        index.rebuild(rows);
+        AssetIndexFile.write(index, rows, indexFile);
+        assertEquals(AssetIndexFile.checksumOf(rows), checksumOf(assetFile));
+        return rows;
+    }
+
+    private static long checksumOf(String file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(Path.of(file)));
+        return crc.getValue();
+    }
+
+    private static List<String> ids(List<Asset> assets) {
+        return assets.stream().map(Asset::getAssetID).sorted().toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.assetmanagementsystem.AssetFixtures.records;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that loads are not undoable and that bulk updates undo and redo exactly.
+ */
+class AssetSessionTest {
+    @TempDir
+    Path dir;
+
+    private final AssetManager assetManager = new AssetManager();
+    private final AssetIndex assetIndex = new AssetIndex();
+    private final List<List<AssetChange>> applied = new ArrayList<>();
+    private String file;
+
+    // Saves after every edit, as autosave would
+    private final AssetSession session = new AssetSession(assetManager, assetIndex, changes -> {
+        applied.add(changes);
+        try {
+            FileManager.saveAssetsAtomically(assetManager.getAssets(), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    });
+
+    @Test
+    void undoAfterLoadLeavesTheFileUnchanged() throws IOException {
+        file = save(AssetFixtures.sampleAssets(100));
+        String contents = Files.readString(Path.of(file));
+        List<AssetChange> published = new ArrayList<>();
+        assetManager.getChangeFeed().subscribe((sequence, change) -> published.add(change));
+
+        assertEquals(100, session.load(file).size());
+        assertEquals(100, published.size());
+        assertFalse(session.undo());
+        assertFalse(session.redo());
+
+        assertTrue(applied.isEmpty());
+        assertEquals(contents, Files.readString(Path.of(file)));
+        assertEquals(100, assetManager.getAssets().size());
+    }
+
+    @Test
+    void loadClearsTheHistory() throws IOException {
+        file = save(AssetFixtures.sampleAssets(10));
+        session.load(file);
+        Asset first = assetManager.getAssets().get(0);
+        session.perform(List.of(AssetChange.removed(first)));
+        session.load(file);
+
+        assertFalse(session.undo());
+        assertEquals(9, assetManager.getAssets().size());
+    }
+
+    @Test
+    void bulkUpdateUndoesAndRedoesAsOneStep() throws IOException {
+        file = save(AssetFixtures.sampleAssets(500));
+        session.load(file);
+        List<String> original = records(assetManager.getAssets());
+
+        List<Asset> bldgA = assetIndex.searchExact("Location", "Bldg A");
+        assertFalse(bldgA.isEmpty());
+        session.perform(AssetChange.modifyEach(bldgA, asset -> asset.withActive(false)));
+        List<String> retired = records(assetManager.getAssets());
+        assertTrue(assetIndex.searchExact("Location", "Bldg A").stream().noneMatch(Asset::isActive));
+
+        assertTrue(session.undo());
+        assertEquals(original, records(assetManager.getAssets()));
+        assertEquals(original, records(FileManager.loadAssetsFromFile(file)));
+        assertEquals(bldgA.size(), assetIndex.searchExact("Location", "Bldg A").size());
+        assertTrue(assetIndex.searchExact("Location", "Bldg A").containsAll(bldgA));
+
+        assertTrue(session.redo());
+        assertEquals(retired, records(assetManager.getAssets()));
+        assertEquals(3, applied.size());
+    }
+
+    @Test
+    void bulkDeleteIsRestoredByUndo() throws IOException {
+        file = save(AssetFixtures.sampleAssets(200));
+        session.load(file);
+        List<String> original = sortedRecords(assetManager.getAssets());
+
+        session.perform(AssetChange.removeEach(assetIndex.searchExact("Location", "Bldg B")));
+        assertTrue(assetIndex.searchExact("Location", "Bldg B").isEmpty());
+
+        session.undo();
+        assertEquals(original, sortedRecords(assetManager.getAssets()));
+        assertEquals(original, sortedRecords(FileManager.loadAssetsFromFile(file)));
+        assertEquals(200, assetIndex.getAssetBST().size());
+    }
+
+    @Test
+    void fileWithDuplicateIDsLoadsFirstWins() throws IOException {
+        List<Asset> assets = new ArrayList<>(AssetFixtures.sampleAssets(20));
+        Asset first = assets.get(0);
+        assets.add(first.withActive(!first.isActive()));
+        file = save(assets);
+        List<AssetChange> published = new ArrayList<>();
+        assetManager.getChangeFeed().subscribe((sequence, change) -> published.add(change));
+
+        assertEquals(20, session.load(file).size());
+        assertEquals(20, published.size());
+        assertEquals(records(List.of(first)), records(List.of(assetIndex.findByID(first.getAssetID()))));
+        assertTrue(published.stream().anyMatch(change -> change.after() == assetManager.getAssets().get(0)));
+    }
+
+    @Test
+    void fileWithAnInvalidIDLeavesTheInventoryUnchanged() throws IOException {
+        file = save(AssetFixtures.sampleAssets(10));
+        session.load(file);
+        List<String> loaded = records(assetManager.getAssets());
+        Files.writeString(Path.of(file), "Hardware,X1,Laptop,Dell,XPS,1-5-2023,true,Bldg A,6-1-2024\n",
+                StandardOpenOption.APPEND);
+
+        assertThrows(IOException.class, () -> session.load(file));
+        assertEquals(loaded, records(assetManager.getAssets()));
+        assertEquals(10, assetIndex.getAssetBST().size());
+    }
+
+    private String save(List<Asset> assets) throws IOException {
+        String name = dir.resolve("assets.txt").toString();
+        FileManager.saveAssetsToFile(assets, name);
+        return name;
+    }
+
+    private static List<String> sortedRecords(List<Asset> assets) {
+        return assets.stream().map(FileManager::formatAsset).sorted().toList();
+    }
+}
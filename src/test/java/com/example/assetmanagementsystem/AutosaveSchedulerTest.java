@@ -0,0 +1,117 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that autosave coalesces edits and that closing from the owner thread saves the latest
+ * state without waiting on the owner thread.
+ */
+class AutosaveSchedulerTest {
+    @TempDir
+    Path dir;
+
+    // Stands in for the JavaFX application thread
+    private final ExecutorService owner = Executors.newSingleThreadExecutor();
+    private final List<Asset> assets = new ArrayList<>();
+    private final LinkedBlockingQueue<AutosaveScheduler.Stats> saves = new LinkedBlockingQueue<>();
+    private final List<Throwable> errors = new ArrayList<>();
+
+    @AfterEach
+    void shutdownOwner() {
+        owner.shutdownNow();
+    }
+
+    @Test
+    void burstOfEditsIsSavedOnce() throws Exception {
+        String file = dir.resolve("assets.txt").toString();
+        AutosaveScheduler autosave = scheduler(file, Duration.ofMillis(50));
+        owner.submit(() -> {
+            for (int i = 1; i <= 5; i++) {
+                assets.add(hardware(i));
+                autosave.markDirty();
+            }
+        }).get();
+
+        AutosaveScheduler.Stats stats = saves.poll(10, TimeUnit.SECONDS);
+        assertNotNull(stats);
+        assertEquals(5, stats.assetCount());
+        assertEquals(1, stats.saveCount());
+        assertEquals(5, FileManager.loadAssetsFromFile(file).size());
+        owner.submit(autosave::close).get();
+        assertTrue(saves.isEmpty());
+    }
+
+    @Test
+    void closeOnOwnerThreadSavesWithoutDeadlock() throws Exception {
+        String file = dir.resolve("assets.txt").toString();
+        AutosaveScheduler autosave = scheduler(file, Duration.ofMillis(10));
+        long start = System.nanoTime();
+        owner.submit(() -> {
+            assets.add(hardware(1));
+            autosave.markDirty();
+            // Let the quiet period pass while the owner thread is busy, so the flush is waiting on it
+            sleep(200);
+            assets.add(hardware(2));
+            autosave.markDirty();
+            autosave.close();
+        }).get(30, TimeUnit.SECONDS);
+
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 10);
+        assertFalse(autosave.isDirty());
+        assertEquals(2, FileManager.loadAssetsFromFile(file).size());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void saveNowSnapshotsOnTheCallingThread() throws Exception {
+        String file = dir.resolve("assets.txt").toString();
+        AutosaveScheduler autosave = scheduler(file, Duration.ofHours(1));
+        owner.submit(() -> {
+            assets.add(hardware(1));
+            autosave.markDirty();
+            autosave.saveNow();
+            // Changes after the snapshot are not part of this save
+            assets.add(hardware(2));
+        }).get();
+
+        assertEquals(1, saves.poll(10, TimeUnit.SECONDS).assetCount());
+        assertFalse(autosave.isDirty());
+        owner.submit(autosave::close).get();
+        assertEquals(1, FileManager.loadAssetsFromFile(file).size());
+    }
+
+    // Creates a scheduler whose snapshots are taken on the owner executor
+    private AutosaveScheduler scheduler(String file, Duration delay) {
+        return new AutosaveScheduler(() -> List.copyOf(assets), assets::size, owner, file, delay,
+                saves::add, errors::add);
+    }
+
+    private static HardwareAsset hardware(int id) {
+        return new HardwareAsset(String.valueOf(id), "Laptop " + id, "Dell", "XPS", "1-5-2023", true,
+                "Bldg A", "6-1-2024");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks BK-tree searches, whose pruning relies on the triangle inequality, against a
+ * brute-force edit-distance scan over every term.
+ */
+class BKTreeTest {
+    private final Random random = new Random(13);
+
+    @Test
+    void distanceMatchesTheFullMatrix() {
+        for (int i = 0; i < 2000; i++) {
+            String a = randomTerm();
+            String b = randomTerm();
+            assertEquals(levenshtein(a, b), BKTree.distance(a, b), a + " / " + b);
+        }
+        assertEquals(3, BKTree.distance("kitten", "sitting"));
+        assertEquals(0, BKTree.distance("", ""));
+    }
+
+    @Test
+    void searchMatchesABruteForceScan() {
+        // A small alphabet gives many terms within a few edits of each other
+        BKTree tree = new BKTree();
+        Map<String, List<Asset>> terms = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String term = randomTerm();
+            Asset asset = asset(i, term);
+            tree.add(term, asset);
+            terms.computeIfAbsent(term.toLowerCase(), k -> new ArrayList<>()).add(asset);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            String query = randomTerm();
+            for (int maxDistance = 0; maxDistance <= 3; maxDistance++) {
+                assertEquals(bruteForce(terms, query, maxDistance), describe(tree.search(query, maxDistance)),
+                        query + " within " + maxDistance);
+            }
+        }
+    }
+
+    @Test
+    void removedAssetsAreNotFound() {
+        BKTree tree = new BKTree();
+        Asset laptop = asset(1, "Laptop");
+        Asset lapdog = asset(2, "Lapdog");
+        Asset other = asset(3, "laptop");
+        tree.add("Laptop", laptop);
+        tree.add("Lapdog", lapdog);
+        tree.add("laptop", other);
+
+        tree.remove("LAPTOP", laptop);
+        assertEquals(List.of("laptop 0 [3]", "lapdog 2 [2]"), describe(tree.search("laptop", 2)));
+        Asset replacement = asset(4, "Laptop");
+        tree.replaceAll("Laptop", Map.of(other, replacement));
+        assertEquals(List.of("laptop 0 [4]", "lapdog 2 [2]"), describe(tree.search("laptop", 2)));
+
+        // The emptied root stays in the tree, so its children remain reachable
+        Map<Asset, Asset> removal = new IdentityHashMap<>();
+        removal.put(replacement, null);
+        tree.replaceAll("laptop", removal);
+        assertEquals(List.of("lapdog 2 [2]"), describe(tree.search("laptop", 2)));
+    }
+
+    @Test
+    void treeSurvivesSerialization() throws IOException {
+        BKTree tree = new BKTree();
+        List<Asset> rows = new ArrayList<>();
+        Map<Asset, Integer> rowOf = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            Asset asset = asset(i, randomTerm());
+            tree.add(asset.getName(), asset);
+            rowOf.put(asset, rows.size());
+            rows.add(asset);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            tree.writeTo(out, rowOf);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes.toByteArray());
+        BKTree restored = new BKTree();
+        restored.readFrom(in, rows);
+        assertEquals(0, in.remaining());
+
+        for (int i = 0; i < 100; i++) {
+            String query = randomTerm();
+            List<BKTree.Match> expected = tree.search(query, 2);
+            List<BKTree.Match> actual = restored.search(query, 2);
+            assertEquals(describe(expected), describe(actual), query);
+            for (int m = 0; m < expected.size(); m++) {
+                // The restored tree refers to the same asset objects, by row
+                assertTrue(expected.get(m).assets().stream().allMatch(actual.get(m).assets()::contains));
+            }
+        }
+    }
+
+    @Test
+    void likelyDuplicatesNeedTheSameTypeMakerAndModel() {
+        AssetIndex index = new AssetIndex();
+        HardwareAsset existing = hardware("1", "ThinkPad X1", "Lenovo", "X1");
+        index.rebuild(List.of(existing,
+                hardware("2", "ThinkPad X1", "Lenovo", "T14"),
+                hardware("3", "Printer", "Lenovo", "X1"),
+                new SoftwareAsset("4", "ThinkPad X1", "Lenovo", "X1", "1-5-2023", true, "1.0", "K")));
+
+        assertEquals(List.of(existing), index.findLikelyDuplicates(hardware("9", "thinkpad x-1", "LENOVO", "x1"), 2));
+        assertTrue(index.findLikelyDuplicates(hardware("9", "ThinkCentre M70", "Lenovo", "X1"), 2).isEmpty());
+        assertTrue(index.findLikelyDuplicates(existing, 2).isEmpty());
+    }
+
+    // Matches found by comparing the query with every term, in the tree's result order
+    private static List<String> bruteForce(Map<String, List<Asset>> terms, String query, int maxDistance) {
+        List<BKTree.Match> matches = new ArrayList<>();
+        for (Map.Entry<String, List<Asset>> term : terms.entrySet()) {
+            int distance = levenshtein(term.getKey(), query.toLowerCase());
+            if (distance <= maxDistance) matches.add(new BKTree.Match(term.getKey(), distance, term.getValue()));
+        }
+        matches.sort(Comparator.comparingInt(BKTree.Match::distance).thenComparing(BKTree.Match::term));
+        return describe(matches);
+    }
+
+    // Each match as "term distance [asset IDs]"
+    private static List<String> describe(List<BKTree.Match> matches) {
+        return matches.stream()
+                .map(match -> match.term() + " " + match.distance() + " "
+                        + match.assets().stream().map(Asset::getAssetID).sorted().toList().toString()
+                        .replace(" ", ""))
+                .toList();
+    }
+
+    // Textbook full-matrix Levenshtein distance
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    // A term of up to 7 characters from a small, mixed-case alphabet
+    private String randomTerm() {
+        StringBuilder term = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) term.append("abcdeAB".charAt(random.nextInt(7)));
+        return term.toString();
+    }
+
+    private static Asset asset(int id, String name) {
+        return hardware(String.valueOf(id), name, "Dell", "XPS");
+    }
+
+    private static HardwareAsset hardware(String id, String name, String manufacturer, String model) {
+        return new HardwareAsset(id, name, manufacturer, model, "1-5-2023", true, "Bldg A", "6-1-2024");
+    }
+}
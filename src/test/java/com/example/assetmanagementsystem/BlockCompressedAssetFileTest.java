@@ -0,0 +1,73 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.example.assetmanagementsystem.AssetFixtures.records;
+import static com.example.assetmanagementsystem.AssetFixtures.sampleAssets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trips assets through the block-compressed format and checks its readers agree.
+ */
+class BlockCompressedAssetFileTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripSortsByIDAcrossBlocks() throws IOException {
+        List<Asset> assets = sampleAssets(5000);
+        String file = dir.resolve("assets.amsb").toString();
+        BlockCompressedAssetFile.write(assets, file);
+
+        List<Asset> loaded = FileManager.loadAssetsCompressed(file);
+        assertEquals(records(sortedByID(assets)), records(loaded));
+        assertTrue(BlockCompressedAssetFile.isBlockCompressed(file));
+        assertFalse(Files.exists(Path.of(file + ".tmp")));
+
+        try (BlockCompressedAssetFile compressed = BlockCompressedAssetFile.open(file)) {
+            assertTrue(compressed.getBlockCount() > 1);
+            List<Asset> iterated = new ArrayList<>();
+            compressed.iterator().forEachRemaining(iterated::add);
+            assertEquals(records(loaded), records(iterated));
+            assertEquals("4321", compressed.find("4321").getAssetID());
+            assertNull(compressed.find("999999"));
+        }
+    }
+
+    @Test
+    void rewriteReplacesTheFile() throws IOException {
+        String file = dir.resolve("assets.amsb").toString();
+        BlockCompressedAssetFile.write(sampleAssets(3000), file);
+        BlockCompressedAssetFile.write(sampleAssets(10), file);
+
+        assertEquals(10, FileManager.loadAssetsCompressed(file).size());
+        try (BlockCompressedAssetFile compressed = BlockCompressedAssetFile.open(file)) {
+            Iterator<Asset> assets = compressed.iterator();
+            assertEquals("1", assets.next().getAssetID());
+        }
+    }
+
+    @Test
+    void plainAssetFilesAreNotMistakenForCompressedOnes() throws IOException {
+        String file = dir.resolve("assets.txt").toString();
+        FileManager.saveAssetsToFile(sampleAssets(10), file);
+        assertFalse(BlockCompressedAssetFile.isBlockCompressed(file));
+    }
+
+    private static List<Asset> sortedByID(List<Asset> assets) {
+        List<Asset> sorted = new ArrayList<>(assets);
+        sorted.sort((a, b) -> Integer.compare(Integer.parseInt(a.getAssetID()), Integer.parseInt(b.getAssetID())));
+        return sorted;
+    }
+}
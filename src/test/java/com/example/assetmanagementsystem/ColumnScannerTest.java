@@ -0,0 +1,93 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the scalar and SIMD column scanners against a brute-force evaluation, at sizes that
+ * exercise full vectors, word boundaries and scalar tails.
+ */
+class ColumnScannerTest {
+    private static final int[] SIZES = {0, 1, 7, 63, 64, 65, 127, 128, 129, 200, 1000, 4099};
+
+    @Test
+    void scannersMatchBruteForce() {
+        Random random = new Random(42);
+        ColumnScanner scalar = new ColumnScanner();
+        ColumnScanner best = ColumnScanner.create();
+        for (int size : SIZES) {
+            int[] ints = new int[size];
+            byte[] bytes = new byte[size];
+            for (int i = 0; i < size; i++) {
+                ints[i] = random.nextInt(20);
+                bytes[i] = (byte) random.nextInt(2);
+            }
+
+            long[] expectedEquals = new long[ColumnScanner.words(size)];
+            long[] expectedBytes = new long[ColumnScanner.words(size)];
+            long[] expectedRange = new long[ColumnScanner.words(size)];
+            for (int i = 0; i < size; i++) {
+                if (ints[i] == 5) expectedEquals[i >>> 6] |= 1L << i;
+                if (bytes[i] == 1) expectedBytes[i >>> 6] |= 1L << i;
+                if (ints[i] >= 3 && ints[i] <= 11) expectedRange[i >>> 6] |= 1L << i;
+            }
+
+            for (ColumnScanner scanner : new ColumnScanner[] {scalar, best}) {
+                String name = scanner.getClass().getSimpleName() + " size " + size;
+                assertArrayEquals(expectedEquals, scanner.selectEquals(ints, size, 5), name);
+                assertArrayEquals(expectedBytes, scanner.selectEquals(bytes, size, (byte) 1), name);
+                assertArrayEquals(expectedRange, scanner.selectRange(ints, size, 3, 11), name);
+                assertEquals(scalar.count(expectedBytes), scanner.countEquals(bytes, size, (byte) 1), name);
+                assertEquals(scalar.count(expectedRange), scanner.countRange(ints, size, 3, 11), name);
+            }
+        }
+    }
+
+    @Test
+    void groupCountMatchesBruteForce() {
+        Random random = new Random(11);
+        ColumnScanner scanner = ColumnScanner.create();
+        for (int size : SIZES) {
+            // Codes -1..7, where -1 is a row with no value
+            int[] codes = new int[size];
+            for (int i = 0; i < size; i++) codes[i] = random.nextInt(9) - 1;
+            long[] selection = scanner.selectRange(codes, size, 2, 5);
+
+            int[] expectedAll = new int[8];
+            int[] expectedSelected = new int[8];
+            for (int i = 0; i < size; i++) {
+                if (codes[i] < 0) continue;
+                expectedAll[codes[i]]++;
+                if (codes[i] >= 2 && codes[i] <= 5) expectedSelected[codes[i]]++;
+            }
+            assertArrayEquals(expectedAll, scanner.groupCount(codes, size, 8, null), "size " + size);
+            assertArrayEquals(expectedSelected, scanner.groupCount(codes, size, 8, selection), "size " + size);
+        }
+    }
+
+    @Test
+    void orMaskContinuesIntoTheNextWord() {
+        // A 48-lane vector at row 48 covers bits 48..63 of word 0 and 0..31 of word 1
+        long[] selection = new long[2];
+        ColumnScanner.orMask(selection, 48, (1L << 48) - 1, 48);
+        assertEquals(0xFFFF_0000_0000_0000L, selection[0]);
+        assertEquals(0x0000_0000_FFFF_FFFFL, selection[1]);
+
+        // Full 64-lane vectors at a word boundary never touch the next word
+        long[] aligned = new long[2];
+        ColumnScanner.orMask(aligned, 64, -1L, 64);
+        assertEquals(0L, aligned[0]);
+        assertEquals(-1L, aligned[1]);
+    }
+
+    @Test
+    void rowsExpandTheSelection() {
+        ColumnScanner scanner = ColumnScanner.create();
+        int[] column = {4, 1, 4, 4, 0, 4};
+        assertArrayEquals(new int[] {0, 2, 3, 5}, scanner.rows(scanner.selectEquals(column, column.length, 4)));
+    }
+}
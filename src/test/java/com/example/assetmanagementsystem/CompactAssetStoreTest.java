@@ -0,0 +1,108 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.assetmanagementsystem.AssetFixtures.records;
+import static com.example.assetmanagementsystem.AssetFixtures.sampleAssets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the dictionary-encoded store behaves like an ArrayList of the same assets.
+ */
+class CompactAssetStoreTest {
+    private final CompactAssetStore store = new CompactAssetStore();
+
+    @Test
+    void assetsRoundTripThroughTheDictionaries() {
+        List<Asset> assets = sampleAssets(1000);
+        store.addAll(assets);
+        assertEquals(records(assets), records(store));
+
+        // Eleven makers and seven vendors are stored once each, however many rows use them
+        AssetColumns columns = store.columns();
+        assertEquals(18, columns.manufacturers.size());
+        for (int row = 0; row < assets.size(); row++) {
+            Asset asset = assets.get(row);
+            assertEquals(asset.getManufacturer(), columns.manufacturers.decode(columns.manufacturerCodes[row]));
+            assertEquals(AssetDates.toEpochDay(asset.getPurchaseDate()), columns.purchaseDays[row]);
+        }
+    }
+
+    @Test
+    void editsMatchAnArrayList() {
+        List<Asset> expected = new ArrayList<>(sampleAssets(100));
+        store.addAll(expected);
+
+        Asset replacement = expected.get(7).withActive(!expected.get(7).isActive());
+        assertEquals(records(List.of(expected.set(7, replacement))), records(List.of(store.set(7, replacement))));
+        Asset inserted = new HardwareAsset("0042", "Padded", "Dell", "XPS", "someday", true, "Bldg A", "");
+        expected.add(3, inserted);
+        store.add(3, inserted);
+        expected.remove(50);
+        store.remove(50);
+        assertEquals(records(expected), records(store));
+
+        // "0042" and "42" are different assets
+        assertEquals(3, store.indexOf(inserted));
+        assertEquals(expected.indexOf(findByID(expected, "42")), store.indexOf(findByID(expected, "42")));
+    }
+
+    @Test
+    void removeByObjectMatchesByID() {
+        store.addAll(sampleAssets(20));
+        Asset copy = store.get(5);
+        assertTrue(store.remove(copy));
+        assertFalse(store.contains(copy));
+        assertFalse(store.remove(copy));
+        assertEquals(19, store.size());
+    }
+
+    @Test
+    void rejectedAssetsLeaveTheStoreUnchanged() {
+        List<Asset> assets = sampleAssets(20);
+        store.addAll(assets);
+        for (String id : new String[] {"X1", "+5", "", "99999999999"}) {
+            Asset invalid = new HardwareAsset(id, "Bad", "Dell", "XPS", "1-5-2023", true, "Bldg A", "");
+            assertThrows(IllegalArgumentException.class, () -> store.add(0, invalid), id);
+            assertThrows(IllegalArgumentException.class, () -> store.add(invalid), id);
+            assertThrows(IllegalArgumentException.class, () -> store.set(0, invalid), id);
+        }
+        assertEquals(records(assets), records(store));
+    }
+
+    @Test
+    void growsAndClears() {
+        List<Asset> assets = sampleAssets(5000);
+        for (Asset asset : assets) store.add(asset);
+        assertEquals(records(assets), records(store));
+
+        store.clear();
+        assertTrue(store.isEmpty());
+        store.addAll(assets.subList(0, 3));
+        assertEquals(records(assets.subList(0, 3)), records(store));
+    }
+
+    @Test
+    void compactManagerAppliesChangesButCannotBackASession() {
+        AssetManager manager = AssetManager.compact();
+        List<Asset> assets = sampleAssets(50);
+        manager.applyChanges(AssetDiff.diffSnapshots(List.of(), assets));
+        Asset first = manager.getAssets().get(0);
+        manager.applyChanges(List.of(AssetChange.removed(first)));
+
+        assertEquals(49, manager.getAssets().size());
+        assertFalse(manager.getAssets().contains(first));
+        assertFalse(manager.keepsAssetIdentity());
+        assertThrows(IllegalArgumentException.class, () -> new AssetSession(manager, new AssetIndex(), changes -> { }));
+    }
+
+    private static Asset findByID(List<Asset> assets, String id) {
+        return assets.stream().filter(asset -> asset.getAssetID().equals(id)).findFirst().orElseThrow();
+    }
+}
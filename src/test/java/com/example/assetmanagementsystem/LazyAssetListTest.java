@@ -0,0 +1,71 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the lazy list decodes rows on demand and releases its file mapping.
+ */
+class LazyAssetListTest {
+    @TempDir
+    Path dir;
+
+    private static final List<Asset> ASSETS = List.of(
+            new HardwareAsset("1", "Laptop", "Dell", "XPS", "1-5-2023", true, "Bldg A", "6-1-2024"),
+            new SoftwareAsset("2", "Office", "Microsoft", "365", "2-1-2023", true, "16.0", "KEY-1"),
+            new HardwareAsset("3", "Printer", "HP", "LaserJet", "3-9-2022", false, "Bldg B", "1-1-2024"));
+
+    @Test
+    void rowsAreDecodedOnDemand() throws IOException {
+        String file = write("assets.txt");
+        try (LazyAssetList list = LazyAssetList.open(file)) {
+            assertEquals(3, list.size());
+            assertEquals("3", list.getAssetID(2));
+            assertFalse(list.isDecoded(2));
+            assertEquals(FileManager.formatAsset(ASSETS.get(1)), FileManager.formatAsset(list.get(1)));
+            assertTrue(list.isDecoded(1));
+        }
+    }
+
+    @Test
+    void closeUnmapsTheFile() throws IOException {
+        String file = write("assets.txt");
+        LazyAssetList list = LazyAssetList.open(file);
+        Asset read = list.get(0);
+        list.close();
+
+        assertEquals(read, list.get(0));
+        assertThrows(IllegalStateException.class, () -> list.get(1));
+        Files.delete(Path.of(file));
+    }
+
+    @Test
+    void detachKeepsEveryRowWhenTheFileIsRewritten() throws IOException {
+        String file = write("assets.txt");
+        LazyAssetList list = LazyAssetList.open(file);
+        list.remove(0);
+        FileManager.saveAssetsToFile(list, file);
+
+        assertEquals(2, list.size());
+        assertEquals("2", list.get(0).getAssetID());
+        assertEquals("3", list.get(1).getAssetID());
+        assertEquals(2, FileManager.loadAssetsFromFile(file).size());
+    }
+
+    // Saves the sample assets and returns the file name
+    private String write(String name) throws IOException {
+        String file = dir.resolve(name).toString();
+        FileManager.saveAssetsToFile(ASSETS, file);
+        return file;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks maintenance scheduling from change events against a brute-force evaluation.
+ */
+class MaintenanceSchedulerTest {
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private final List<List<MaintenanceScheduler.Entry>> reports = new ArrayList<>();
+    private final MaintenanceScheduler scheduler = new MaintenanceScheduler(reports::add);
+
+    @Test
+    void dueAssetsAreReportedOnceUntilRescheduled() {
+        HardwareAsset laptop = hardware(1, START.plusDays(3), true);
+        scheduler.onChange(1, AssetChange.added(laptop));
+        scheduler.onChange(2, AssetChange.added(hardware(2, START.plusDays(30), true)));
+
+        assertTrue(scheduler.checkDue(START).isEmpty());
+        assertEquals(List.of("1"), ids(scheduler.checkDue(START.plusDays(5))));
+        assertTrue(scheduler.checkDue(START.plusDays(6)).isEmpty());
+
+        // Moving the asset keeps its date, so it is not reported again; a new date is
+        HardwareAsset moved = laptop.withLocation("Bldg Z");
+        scheduler.onChange(3, AssetChange.modified(laptop, moved));
+        assertTrue(scheduler.checkDue(START.plusDays(7)).isEmpty());
+        HardwareAsset serviced = hardware(1, START.plusDays(10), true);
+        scheduler.onChange(4, AssetChange.modified(moved, serviced));
+        assertEquals(List.of("1"), ids(scheduler.checkDue(START.plusDays(10))));
+        assertEquals(2, reports.size());
+    }
+
+    @Test
+    void retiredAndUndatedAssetsAreNotTracked() {
+        scheduler.onChange(1, AssetChange.added(hardware(1, START, false)));
+        scheduler.onChange(2, AssetChange.added(new HardwareAsset("2", "Router", "Cisco", "R1", "1-1-2020", true,
+                "Bldg A", "someday")));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void deleteDropsTheEntryByID() {
+        HardwareAsset asset = hardware(1, START, true);
+        scheduler.onChange(1, AssetChange.added(asset));
+        // A delete made from another copy of the asset, e.g. re-read from a file
+        HardwareAsset copy = hardware(1, START, true);
+        scheduler.onChange(2, AssetChange.removed(copy));
+
+        assertEquals(0, scheduler.size());
+        assertEquals(0, scheduler.overdueCount(START.plusDays(1)));
+        assertTrue(scheduler.nextDue(10).isEmpty());
+    }
+
+    @Test
+    void overdueCountFollowsEditsAndTime() {
+        Random random = new Random(3);
+        Map<String, HardwareAsset> live = new HashMap<>();
+        LocalDate today = START;
+        long sequence = 0;
+        for (int step = 0; step < 5000; step++) {
+            String id = String.valueOf(1 + random.nextInt(300));
+            HardwareAsset previous = live.get(id);
+            int action = random.nextInt(10);
+            if (action < 2 && previous != null) {
+                live.remove(id);
+                scheduler.onChange(++sequence, AssetChange.removed(previous));
+            } else {
+                HardwareAsset next = hardware(Integer.parseInt(id), START.plusDays(random.nextInt(400)), action != 9);
+                live.put(id, next);
+                scheduler.onChange(++sequence, previous == null ? AssetChange.added(next)
+                        : AssetChange.modified(previous, next));
+            }
+
+            if (step % 25 == 0) {
+                // Mostly forward, occasionally back (e.g. a clock correction)
+                today = today.plusDays(random.nextInt(10) - (random.nextInt(20) == 0 ? 30 : 0));
+                LocalDate day = today;
+                long expected = live.values().stream()
+                        .filter(asset -> asset.isActive() && AssetDates.parse(asset.getMaintenanceDate()).isBefore(day))
+                        .count();
+                assertEquals(expected, scheduler.overdueCount(today), "step " + step);
+                assertEquals(live.values().stream().filter(Asset::isActive).count(), scheduler.size());
+            }
+        }
+    }
+
+    // A hardware asset due for maintenance on the given date
+    private static HardwareAsset hardware(int id, LocalDate maintenance, boolean active) {
+        return new HardwareAsset(String.valueOf(id), "Laptop " + id, "Dell", "XPS", "1-5-2023", active, "Bldg A",
+                AssetDates.format((int) maintenance.toEpochDay()));
+    }
+
+    private static List<String> ids(List<MaintenanceScheduler.Entry> entries) {
+        return entries.stream().map(entry -> entry.asset().getAssetID()).toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.example.assetmanagementsystem.AssetFixtures.records;
+import static com.example.assetmanagementsystem.AssetFixtures.sampleAssets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the off-heap table behaves like an ArrayList of the same assets.
+ */
+class OffHeapAssetStoreTest {
+    private final OffHeapAssetStore store = new OffHeapAssetStore();
+
+    @Test
+    void rowsMaterializeWithEveryField() {
+        List<Asset> assets = new ArrayList<>(sampleAssets(10));
+        // Padded IDs, non-canonical dates and non-ASCII text take the string arena path
+        assets.add(new HardwareAsset("0042", "Café printer", "HP", "LJ", "someday", false, "Bâtiment B", "01-02-2024"));
+        assets.add(new SoftwareAsset("43", "Suite", "Microsoft", "365", "", true, "16.0", "KEY-ÄÖ"));
+        store.addAll(assets);
+
+        assertEquals(records(assets), records(store));
+        AssetColumns columns = store.columns();
+        assertEquals(AssetDates.UNKNOWN, columns.purchaseDays[10]);
+        assertEquals(-1, columns.locationCodes[11]);
+        assertEquals("Bâtiment B", columns.locations.decode(columns.locationCodes[10]));
+    }
+
+    @Test
+    void growsPastItsInitialCapacityAndArena() {
+        long initialBytes = store.offHeapBytes();
+        List<Asset> assets = sampleAssets(5000);
+        for (Asset asset : assets) store.add(asset);
+
+        assertEquals(records(assets), records(store));
+        assertTrue(store.offHeapBytes() > initialBytes);
+    }
+
+    @Test
+    void randomEditsMatchAnArrayList() {
+        Random random = new Random(5);
+        List<Asset> pool = sampleAssets(3000);
+        List<Asset> expected = new ArrayList<>();
+        for (int step = 0; step < 5000; step++) {
+            Asset asset = pool.get(random.nextInt(pool.size()));
+            int action = random.nextInt(4);
+            if (expected.isEmpty() || action == 0) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, asset);
+                store.add(index, asset);
+            } else if (action == 1) {
+                int index = random.nextInt(expected.size());
+                assertEquals(records(List.of(expected.remove(index))), records(List.of(store.remove(index))));
+            } else {
+                // Replacing rows leaves garbage in the string arena until it is compacted
+                int index = random.nextInt(expected.size());
+                assertEquals(records(List.of(expected.set(index, asset))), records(List.of(store.set(index, asset))));
+            }
+        }
+        assertEquals(records(expected), records(store));
+    }
+
+    @Test
+    void removeByObjectMatchesByID() {
+        store.addAll(sampleAssets(20));
+        Asset copy = store.get(5);
+        assertTrue(store.remove(copy));
+        assertFalse(store.contains(copy));
+        assertFalse(store.remove(copy));
+        assertEquals(19, store.size());
+    }
+
+    @Test
+    void rejectedAssetsLeaveTheStoreUnchanged() {
+        List<Asset> assets = sampleAssets(20);
+        store.addAll(assets);
+        for (String id : new String[] {"X1", "+5", "", "99999999999"}) {
+            Asset invalid = new HardwareAsset(id, "Bad", "Dell", "XPS", "1-5-2023", true, "Bldg A", "");
+            assertThrows(IllegalArgumentException.class, () -> store.add(0, invalid), id);
+            assertThrows(IllegalArgumentException.class, () -> store.add(invalid), id);
+            assertThrows(IllegalArgumentException.class, () -> store.set(0, invalid), id);
+        }
+        assertEquals(records(assets), records(store));
+    }
+
+    @Test
+    void offHeapManagerCannotBackASession() {
+        AssetManager manager = AssetManager.offHeap();
+        manager.applyChanges(AssetDiff.diffSnapshots(List.of(), sampleAssets(50)));
+        assertEquals(50, manager.getAssets().size());
+        assertFalse(manager.keepsAssetIdentity());
+        assertThrows(IllegalArgumentException.class, () -> new AssetSession(manager, new AssetIndex(), changes -> { }));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Replays a primary's journal into replicas and checks they end up with the primary's assets.
+ */
+class ReplicationJournalTest {
+    @TempDir
+    Path dir;
+
+    private final AssetManager primary = new AssetManager();
+    private final List<IOException> errors = new ArrayList<>();
+
+    @Test
+    void replicaReplaysJournaledChanges() throws IOException {
+        String snapshot = dir.resolve("assets.txt").toString();
+        List<Asset> initial = AssetFixtures.sampleAssets(50);
+        publish(AssetDiff.diffSnapshots(List.of(), initial));
+        FileManager.saveAssetsToFile(primary.getAssets(), snapshot);
+
+        try (ReplicationJournal journal = journal(snapshot)) {
+            List<AssetChange> edits = new ArrayList<>();
+            edits.add(AssetChange.modified(initial.get(0), initial.get(0).withActive(!initial.get(0).isActive())));
+            edits.add(AssetChange.removed(initial.get(1)));
+            edits.add(AssetChange.added(new HardwareAsset("100", "Scanner", "Canon", "S1", "3-3-2024", true,
+                    "Bldg C", "9-1-2024")));
+            publish(edits);
+            journal.flush();
+
+            AssetReplica replica = new AssetReplica(snapshot, ReplicationJournal.journalFileFor(snapshot));
+            assertEquals(3, replica.poll());
+            assertSameAssets(primary.getAssets(), replica.getAssets());
+            assertEquals(primary.getChangeFeed().getSequence(), replica.getStatus().appliedSequence());
+        }
+        assertEquals(List.of(), errors);
+    }
+
+    @Test
+    void checkpointKeepsReplicasInStep() throws IOException {
+        String snapshot = dir.resolve("assets.txt").toString();
+        try (ReplicationJournal journal = journal(snapshot)) {
+            AssetReplica replica = new AssetReplica(snapshot, ReplicationJournal.journalFileFor(snapshot));
+            publish(AssetDiff.diffSnapshots(List.of(), AssetFixtures.sampleAssets(20)));
+            journal.flush();
+            assertEquals(20, replica.poll());
+
+            // Save a snapshot, trim the journal, then keep editing
+            FileManager.saveAssetsAtomically(primary.getAssets(), snapshot);
+            journal.checkpoint(primary.getChangeFeed().getSequence());
+            Asset first = primary.getAssets().get(0);
+            publish(List.of(AssetChange.modified(first, first.withActive(!first.isActive()))));
+            journal.flush();
+
+            replica.poll();
+            assertSameAssets(primary.getAssets(), replica.getAssets());
+
+            AssetReplica late = new AssetReplica(snapshot, ReplicationJournal.journalFileFor(snapshot));
+            late.poll();
+            assertSameAssets(primary.getAssets(), late.getAssets());
+        }
+    }
+
+    @Test
+    void failedCheckpointKeepsTheJournalWritable() throws IOException {
+        String snapshot = dir.resolve("assets.txt").toString();
+        FileManager.saveAssetsToFile(List.of(), snapshot);
+        try (ReplicationJournal journal = journal(snapshot)) {
+            // Block the checkpoint's temporary file so rewriting the journal fails
+            Path temp = Path.of(ReplicationJournal.journalFileFor(snapshot) + ".tmp");
+            Files.createDirectories(temp.resolve("blocker"));
+
+            publish(AssetDiff.diffSnapshots(List.of(), AssetFixtures.sampleAssets(5)));
+            long base = journal.getBaseSequence();
+            assertThrows(IOException.class, () -> journal.checkpoint(primary.getChangeFeed().getSequence()));
+            assertEquals(base, journal.getBaseSequence());
+
+            // Later changes are still journaled after the ones the checkpoint failed to drop
+            assertDoesNotThrow(() -> publish(AssetDiff.diffSnapshots(primary.getAssets(),
+                    AssetFixtures.sampleAssets(6))));
+            journal.flush();
+            AssetReplica replica = new AssetReplica(snapshot, ReplicationJournal.journalFileFor(snapshot));
+            assertEquals(6, replica.poll());
+            assertSameAssets(primary.getAssets(), replica.getAssets());
+        }
+        assertEquals(List.of(), errors);
+    }
+
+    @Test
+    void replicaBootstrapsFromASnapshotWithDuplicateIDs() throws IOException {
+        String snapshot = dir.resolve("assets.txt").toString();
+        List<Asset> assets = new ArrayList<>(AssetFixtures.sampleAssets(30));
+        Asset first = assets.get(0);
+        assets.add(first.withActive(!first.isActive()));
+        FileManager.saveAssetsToFile(assets, snapshot);
+
+        try (ReplicationJournal journal = journal(snapshot)) {
+            journal.flush();
+            AssetReplica replica = new AssetReplica(snapshot, ReplicationJournal.journalFileFor(snapshot));
+            List<AssetChange> published = new ArrayList<>();
+            replica.getChangeFeed().subscribe((sequence, change) -> published.add(change));
+            replica.poll();
+
+            assertSameAssets(assets.subList(0, 30), replica.getAssets());
+            assertEquals(30, published.size());
+        }
+    }
+
+    // Creates a journal for the primary's feed, starting at its current sequence
+    private ReplicationJournal journal(String snapshot) throws IOException {
+        ReplicationJournal journal = new ReplicationJournal(ReplicationJournal.journalFileFor(snapshot),
+                primary.getChangeFeed().getSequence(), errors::add);
+        primary.getChangeFeed().subscribe(journal);
+        return journal;
+    }
+
+    // Applies changes to the primary and publishes them, as the GUI does
+    private void publish(List<AssetChange> changes) {
+        primary.applyChanges(changes);
+        primary.getChangeFeed().publishAll(changes);
+    }
+
+    private static void assertSameAssets(List<Asset> expected, List<Asset> actual) {
+        assertEquals(sortedRecords(expected), sortedRecords(actual));
+    }
+
+    private static List<String> sortedRecords(List<Asset> assets) {
+        return assets.stream().map(FileManager::formatAsset).sorted().toList();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.example.assetmanagementsystem.AssetFixtures.records;
+import static com.example.assetmanagementsystem.AssetFixtures.sampleAssets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the sharded store saves only the shards an edit touched, loads back what it saved,
+ * and answers searches like a single index over the same assets.
+ */
+class ShardedAssetStoreTest {
+    @TempDir
+    Path dir;
+
+    private final AssetManager assetManager = new AssetManager();
+    private final AssetIndex assetIndex = new AssetIndex();
+    private final AssetSession session = new AssetSession(assetManager, assetIndex, changes -> { });
+
+    @Test
+    void savedShardsLoadBack() throws IOException {
+        ShardedAssetStore store = store(ShardedAssetStore.byLocation());
+        store.applyChanges(AssetDiff.diffSnapshots(List.of(), sampleAssets(500)));
+        assertEquals(List.of("Bldg A", "Bldg B", "Bldg C", "Bldg D", "Software"), store.save());
+
+        ShardedAssetStore loaded = store(ShardedAssetStore.byLocation());
+        loaded.load();
+        assertEquals(store.getShardKeys(), loaded.getShardKeys());
+        assertEquals(sorted(records(sampleAssets(500))), sorted(records(loaded.getAssets())));
+        assertEquals(List.of(), loaded.save());
+    }
+
+    @Test
+    void distinctKeysGetDistinctFiles() throws IOException {
+        List<String> locations = List.of("Bldg A/1", "Bldg_A_1", "bldg a/1", "BLDG A/1", "Café", "%41", "");
+        ShardedAssetStore store = store(ShardedAssetStore.byLocation());
+        List<Asset> assets = new ArrayList<>();
+        for (int i = 0; i < locations.size(); i++) {
+            assets.add(new HardwareAsset(String.valueOf(i + 1), "Device", "Dell", "XPS", "1-5-2023", true,
+                    locations.get(i), "6-1-2024"));
+        }
+        store.applyChanges(AssetDiff.diffSnapshots(List.of(), assets));
+        store.save();
+
+        // Lower-case names cannot collide on a case-insensitive file system either
+        try (Stream<Path> files = Files.list(dir)) {
+            List<String> names = files.map(file -> file.getFileName().toString().substring("SavedAssets".length())).toList();
+            assertEquals(locations.size(), names.stream().map(String::toLowerCase).distinct().count());
+            assertTrue(names.stream().allMatch(name -> name.equals(name.toLowerCase())), names.toString());
+        }
+        for (String location : locations) {
+            String encoded = store.shardFileName(location);
+            assertEquals(location, ShardedAssetStore.decodeKey(
+                    encoded.substring("SavedAssets.shard-".length(), encoded.length() - ".txt".length())));
+        }
+
+        ShardedAssetStore loaded = store(ShardedAssetStore.byLocation());
+        loaded.load();
+        assertEquals(locations.stream().sorted().toList(), loaded.getShardKeys());
+        assertEquals(sorted(records(assets)), sorted(records(loaded.getAssets())));
+    }
+
+    @Test
+    void foreignShardFileNamesAreRejected() throws IOException {
+        Files.writeString(dir.resolve("SavedAssets.shard-%4A.txt"), "");
+        ShardedAssetStore store = store(ShardedAssetStore.byLocation());
+        assertThrows(IOException.class, store::load);
+        assertEquals(List.of(), store.getShardKeys());
+        assertNull(ShardedAssetStore.decodeKey("Bldg"));
+        assertNull(ShardedAssetStore.decodeKey("%4"));
+    }
+
+    @Test
+    void onlyShardsTouchedByAnEditAreRewritten() throws IOException {
+        ShardedAssetStore store = store(ShardedAssetStore.byLocation());
+        assetManager.getChangeFeed().subscribe(store);
+        Path file = dir.resolve("assets.txt");
+        FileManager.saveAssetsToFile(sampleAssets(300), file.toString());
+        session.load(file.toString());
+        assertEquals(5, store.save().size());
+
+        HardwareAsset moved = (HardwareAsset) assetIndex.searchExact("Location", "Bldg A").get(0);
+        session.perform(List.of(AssetChange.modified(moved, moved.withLocation("Bldg B"))));
+        assertEquals(List.of("Bldg A", "Bldg B"), store.save());
+        assertEquals(List.of(), store.save());
+
+        Asset software = assetIndex.searchExact("Manufacturer", "Vendor 3").get(0);
+        session.perform(List.of(AssetChange.modified(software, software.withActive(!software.isActive()))));
+        assertEquals(List.of("Software"), store.save());
+
+        // Emptying a shard deletes its file
+        session.perform(AssetChange.removeEach(assetIndex.searchExact("Location", "Bldg C")));
+        assertEquals(List.of("Bldg C"), store.save());
+        assertFalse(Files.exists(dir.resolve(store.shardFileName("Bldg C"))));
+        assertFalse(store.getShardKeys().contains("Bldg C"));
+
+        ShardedAssetStore loaded = store(ShardedAssetStore.byLocation());
+        loaded.load();
+        assertEquals(sorted(records(assetManager.getAssets())), sorted(records(loaded.getAssets())));
+    }
+
+    @Test
+    void searchesMatchASingleIndex() throws IOException {
+        ShardedAssetStore store = store(ShardedAssetStore.byIdRange(50));
+        assetManager.getChangeFeed().subscribe(store);
+        Path file = dir.resolve("assets.txt");
+        FileManager.saveAssetsToFile(sampleAssets(400), file.toString());
+        session.load(file.toString());
+
+        Random random = new Random(17);
+        for (int step = 0; step < 300; step++) {
+            List<Asset> assets = assetManager.getAssets();
+            Asset target = assets.get(random.nextInt(assets.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> session.perform(List.of(AssetChange.removed(target)));
+                case 1 -> session.perform(List.of(AssetChange.added(new HardwareAsset(String.valueOf(1000 + step),
+                        "Device " + step, "Maker " + random.nextInt(11), "M1", "1-5-2023", true, "Bldg E", ""))));
+                case 2 -> session.perform(List.of(AssetChange.modified(target, target.withActive(!target.isActive()))));
+                default -> session.undo();
+            }
+        }
+
+        assertEquals(sorted(records(assetManager.getAssets())), sorted(records(store.getAssets())));
+        for (String id : List.of("1", "150", "399", "1100", "5000")) {
+            assertEquals(assetIndex.findByID(id), store.findByID(id), id);
+        }
+        for (String query : List.of("Maker 1", "Vendor 2", "Bldg")) {
+            assertEquals(byID(assetIndex.search("Manufacturer", query)), byID(store.search("Manufacturer", query)), query);
+            assertEquals(byID(assetIndex.search("Location", query)), byID(store.search("Location", query)), query);
+            assertEquals(byID(assetIndex.searchExact("Manufacturer", query)),
+                    byID(store.searchExact("Manufacturer", query)), query);
+        }
+        assertEquals(byID(assetIndex.fuzzySearch("Name", "Devce 12", 2)), byID(store.fuzzySearch("Name", "Devce 12", 2)));
+    }
+
+    @Test
+    void loadingWithANewKeyReshardsTheFiles() throws IOException {
+        ShardedAssetStore store = store(ShardedAssetStore.byLocation());
+        store.applyChanges(AssetDiff.diffSnapshots(List.of(), sampleAssets(250)));
+        store.save();
+
+        ShardedAssetStore resharded = store(ShardedAssetStore.byIdRange(100));
+        resharded.load();
+        resharded.save();
+        try (Stream<Path> files = Files.list(dir)) {
+            List<String> names = files.map(file -> file.getFileName().toString()).sorted().toList();
+            assertEquals(List.of(resharded.shardFileName("ids-0-99"), resharded.shardFileName("ids-100-199"),
+                    resharded.shardFileName("ids-200-299")), names);
+        }
+
+        ShardedAssetStore loaded = store(ShardedAssetStore.byIdRange(100));
+        loaded.load();
+        assertEquals(List.of("ids-0-99", "ids-100-199", "ids-200-299"), loaded.getShardKeys());
+        assertEquals(sorted(records(sampleAssets(250))), sorted(records(loaded.getAssets())));
+        assertEquals(List.of(), loaded.save());
+    }
+
+    private ShardedAssetStore store(Function<Asset, String> shardKey) {
+        return new ShardedAssetStore(dir, "SavedAssets", shardKey);
+    }
+
+    private static List<String> sorted(List<String> records) {
+        return records.stream().sorted().toList();
+    }
+
+    // Asset IDs in numeric order, for comparing results whose order depends on the shard layout
+    private static List<String> byID(List<Asset> assets) {
+        return assets.stream()
+                .sorted(Comparator.comparingInt(asset -> Integer.parseInt(asset.getAssetID())))
+                .map(FileManager::formatAsset)
+                .toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.assetmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.example.assetmanagementsystem.AssetFixtures.sampleAssets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the list behaves like an ArrayList and that its snapshots never change, at sizes
+ * spanning several chunks.
+ */
+class SnapshotAssetListTest {
+    private final SnapshotAssetList list = new SnapshotAssetList();
+
+    @Test
+    void randomEditsMatchAnArrayListAndLeaveSnapshotsUnchanged() {
+        Random random = new Random(17);
+        List<Asset> pool = sampleAssets(5000);
+        List<Asset> expected = new ArrayList<>();
+        List<List<Asset>> snapshots = new ArrayList<>();
+        List<List<Asset>> copies = new ArrayList<>();
+
+        for (int step = 0; step < 20000; step++) {
+            Asset asset = pool.get(random.nextInt(pool.size()));
+            int action = random.nextInt(10);
+            if (expected.isEmpty() || action < 4) {
+                expected.add(asset);
+                list.add(asset);
+            } else if (action == 4) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, asset);
+                list.add(index, asset);
+            } else if (action == 5) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (action == 6) {
+                // A run crossing chunk boundaries, as AssetManager.applyChanges removes
+                int from = random.nextInt(expected.size());
+                int to = Math.min(expected.size(), from + random.nextInt(3 * SnapshotAssetList.CHUNK_SIZE));
+                expected.subList(from, to).clear();
+                list.subList(from, to).clear();
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, asset), list.set(index, asset));
+            }
+
+            if (step % 500 == 0) {
+                snapshots.add(list.snapshot());
+                copies.add(List.copyOf(expected));
+            }
+        }
+        assertEquals(expected, list);
+        for (int i = 0; i < snapshots.size(); i++) assertEquals(copies.get(i), snapshots.get(i), "snapshot " + i);
+    }
+
+    @Test
+    void snapshotsSurviveClearAndReload() {
+        List<Asset> assets = sampleAssets(3000);
+        list.addAll(assets);
+        List<Asset> before = list.snapshot();
+        list.clear();
+        list.addAll(assets.subList(0, 10));
+
+        assertEquals(assets, before);
+        assertEquals(assets.subList(0, 10), list);
+        assertEquals(assets.subList(0, 10), list.snapshot());
+    }
+
+    @Test
+    void snapshotsAreReadOnly() {
+        list.addAll(sampleAssets(5));
+        List<Asset> snapshot = list.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, snapshot.get(1)));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(snapshot.get(1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(5));
+    }
+}